@@ -0,0 +1,36 @@
+package com.logix.benchmarks;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * 基准入口，参数与JMH命令行一致，默认附加GC分析器以输出每次操作的分配量（gc.alloc.rate.norm）
+ * <pre>
+ * java -jar logix-benchmarks/target/benchmarks.jar                      # 全部基准
+ * java -jar logix-benchmarks/target/benchmarks.jar IdUtils -f 1 -wi 3   # 按正则筛选
+ * </pre>
+ *
+ * @author Kanade
+ * @since 2026/10/18
+ */
+public final class BenchmarkMain {
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        if (commandLine.shouldHelp() || commandLine.shouldList() || commandLine.shouldListWithParams()
+                || commandLine.shouldListProfilers() || commandLine.shouldListResultFormats()) {
+            Main.main(args);
+            return;
+        }
+        new Runner(new OptionsBuilder()
+                .parent(commandLine)
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
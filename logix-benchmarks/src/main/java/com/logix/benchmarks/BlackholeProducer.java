@@ -0,0 +1,81 @@
+package com.logix.benchmarks;
+
+import com.logix.client.core.kafka.KafkaProducerClient;
+import com.logix.client.core.kafka.ProducerOptions;
+import org.apache.kafka.clients.producer.Callback;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 不连接Kafka的生产者：记录条数与字节数后立即回调成功，不保留历史记录
+ * <p>
+ * 通过{@link #install()}以默认生产者参数创建{@link KafkaProducerClient}，之后使用默认acks与压缩配置的分发器共享该客户端。
+ *
+ * @author Kanade
+ * @since 2026/10/18
+ */
+public final class BlackholeProducer extends MockProducer<String, byte[]> {
+
+    static final String BOOTSTRAP_SERVERS = "blackhole:9092";
+
+    private static final int PARTITIONS = 12;
+
+    private final RecordMetadata metadata = new RecordMetadata(new TopicPartition("logix", 0), 0, 0, 0, 0, 0);
+    private final Future<RecordMetadata> completed = CompletableFuture.completedFuture(metadata);
+    private final LongAdder records = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+
+    private BlackholeProducer() {
+        super(true, new StringSerializer(), new ByteArraySerializer());
+    }
+
+    /**
+     * 以黑洞生产者创建默认参数的共享客户端，需在创建任何分发器之前调用
+     */
+    static KafkaProducerClient install() {
+        return KafkaProducerClient.getInstance(ProducerOptions.builder()
+                .bootstrapServers(BOOTSTRAP_SERVERS)
+                .producerFactory(options -> new BlackholeProducer())
+                .build());
+    }
+
+    @Override
+    public Future<RecordMetadata> send(ProducerRecord<String, byte[]> record, Callback callback) {
+        records.increment();
+        bytes.add(record.value().length);
+        if (callback != null) {
+            callback.onCompletion(metadata, null);
+        }
+        return completed;
+    }
+
+    @Override
+    public List<PartitionInfo> partitionsFor(String topic) {
+        Node node = new Node(0, "blackhole", 9092);
+        List<PartitionInfo> partitions = new ArrayList<>(PARTITIONS);
+        for (int i = 0; i < PARTITIONS; i++) {
+            partitions.add(new PartitionInfo(topic, i, node, new Node[]{node}, new Node[]{node}));
+        }
+        return partitions;
+    }
+
+    public long getRecords() {
+        return records.sum();
+    }
+
+    public long getBytes() {
+        return bytes.sum();
+    }
+}
@@ -0,0 +1,102 @@
+package com.logix.benchmarks;
+
+import com.logix.client.core.logging.DispatcherConfig;
+import com.logix.client.core.logging.LogEventDispatcher;
+import com.logix.client.core.logging.PendingLog;
+import com.logix.client.core.logging.QueueType;
+import com.logix.common.config.KafkaSecurityConfig;
+import com.logix.common.enums.LogLevel;
+import com.logix.common.enums.PayloadFormat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 日志通道入队与分发线程消费：多个业务线程并发投递，分发线程攒批后交给黑洞生产者
+ * <p>
+ * 结果为业务线程的投递开销；结束时输出入队与丢弃条数，丢弃比例过高说明消费跟不上，需增加workerCount。
+ * 默认4个业务线程，publishRunLog另有1/16/64线程的变体，用于观察入队竞争随并发增长的变化。
+ *
+ * @author Kanade
+ * @since 2026/10/18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class DispatcherBenchmark {
+
+    private static final PendingLog RUN_LOG = PendingLog.encoded(new byte[200]);
+
+    @Param({"LINKED", "RING"})
+    private QueueType queueType;
+
+    @Param({"1", "2"})
+    private int workerCount;
+
+    private LogEventDispatcher dispatcher;
+
+    @Setup
+    public void setUp() {
+        BlackholeProducer.install();
+        dispatcher = new LogEventDispatcher(DispatcherConfig.builder()
+                .bootstrapServers(BlackholeProducer.BOOTSTRAP_SERVERS)
+                .securityConfig(KafkaSecurityConfig.builder().build())
+                .queueType(queueType)
+                .queueCapacity(65536)
+                .workerCount(workerCount)
+                .payloadFormat(PayloadFormat.BINARY)
+                .metricsName("dispatcher")
+                .jmxEnabled(false)
+                .build());
+    }
+
+    @TearDown
+    public void tearDown() {
+        Telemetry.print("DispatcherBenchmark");
+        dispatcher.close();
+    }
+
+    @Benchmark
+    public void publishRunLog() {
+        dispatcher.publishRunLog(LogLevel.INFO, RUN_LOG);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void publishRunLogUncontended() {
+        dispatcher.publishRunLog(LogLevel.INFO, RUN_LOG);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void publishRunLog16Threads() {
+        dispatcher.publishRunLog(LogLevel.INFO, RUN_LOG);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public void publishRunLog64Threads() {
+        dispatcher.publishRunLog(LogLevel.INFO, RUN_LOG);
+    }
+
+    @Benchmark
+    public void publishTraceLog() {
+        dispatcher.publishTraceLog(RUN_LOG);
+    }
+}
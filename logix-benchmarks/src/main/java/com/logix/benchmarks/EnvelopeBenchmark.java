@@ -0,0 +1,66 @@
+package com.logix.benchmarks;
+
+import com.logix.common.codec.LogEnvelope;
+import com.logix.common.enums.EnvelopeCompression;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 批量信封的打包与解包，一个信封对应一个默认大小的批次
+ *
+ * @author Kanade
+ * @since 2026/10/18
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EnvelopeBenchmark {
+
+    @Param({"NONE", "LZ4", "ZSTD"})
+    private EnvelopeCompression compression;
+
+    @Param({"100"})
+    private int batchSize;
+
+    private List<byte[]> payloads;
+    private byte[] envelope;
+
+    @Setup
+    public void setUp() {
+        payloads = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            payloads.add(("{\"appName\":\"order-service\",\"env\":\"prod\",\"logLevel\":\"INFO\",\"seq\":" + i
+                    + ",\"content\":\"order 2026101800" + i + " paid by user 100" + (i % 7) + "\"}")
+                    .getBytes(StandardCharsets.UTF_8));
+        }
+        envelope = LogEnvelope.encode(payloads, 0, batchSize, compression);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return LogEnvelope.encode(payloads, 0, batchSize, compression);
+    }
+
+    @Benchmark
+    public int decode(Blackhole blackhole) {
+        return LogEnvelope.decode(envelope, compression, (data, offset, length) -> blackhole.consume(length));
+    }
+}
@@ -0,0 +1,63 @@
+package com.logix.benchmarks;
+
+import com.logix.common.util.IdUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TraceId与SpanId生成，单线程与16、64线程竞争下的吞吐
+ *
+ * @author Kanade
+ * @since 2026/10/18
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IdUtilsBenchmark {
+
+    @Benchmark
+    @Threads(1)
+    public String traceId() {
+        return IdUtils.generateTraceId();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public String traceIdContended() {
+        return IdUtils.generateTraceId();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public String traceIdHighlyContended() {
+        return IdUtils.generateTraceId();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String spanId() {
+        return IdUtils.generateSpanId();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public String spanIdContended() {
+        return IdUtils.generateSpanId();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public String spanIdHighlyContended() {
+        return IdUtils.generateSpanId();
+    }
+}
@@ -0,0 +1,98 @@
+package com.logix.benchmarks;
+
+import com.logix.client.log4j2.LogixAppender;
+import com.logix.client.core.logging.QueueType;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.apache.logging.log4j.core.config.LoggerConfig;
+import org.apache.logging.log4j.core.config.builder.api.ConfigurationBuilder;
+import org.apache.logging.log4j.core.config.builder.api.ConfigurationBuilderFactory;
+import org.apache.logging.log4j.core.config.builder.impl.BuiltConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 经Log4j2调用Logix Appender的业务线程开销，与{@link LogbackAppenderBenchmark}对照
+ * <p>
+ * 以代码方式挂载Appender，不依赖插件扫描；无垃圾模式下info的gc.alloc.rate.norm应接近0。
+ *
+ * @author Kanade
+ * @since 2026/10/18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Dlog4j2.enableThreadlocals=true", "-Dlog4j2.enableDirectEncoders=true"})
+public class Log4j2AppenderBenchmark {
+
+    private static final String LOGGER_NAME = "com.logix.benchmarks.log4j2";
+
+    @Param({"RING"})
+    private QueueType queueType;
+
+    private LoggerContext context;
+    private LogixAppender appender;
+    private Logger logger;
+
+    @Setup
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public void setUp() {
+        BlackholeProducer.install();
+        ConfigurationBuilder<BuiltConfiguration> builder = ConfigurationBuilderFactory.newConfigurationBuilder();
+        builder.setStatusLevel(Level.WARN);
+        builder.add(builder.newRootLogger(Level.WARN));
+        context = Configurator.initialize(builder.build());
+
+        LogixAppender.Builder appenderBuilder = LogixAppender.newBuilder();
+        appenderBuilder.setName("LOGIX");
+        appenderBuilder.setAppName("benchmark");
+        appenderBuilder.setEnv("bench");
+        appenderBuilder.setBootstrapServers(BlackholeProducer.BOOTSTRAP_SERVERS);
+        appenderBuilder.setWorkerCount(2);
+        appenderBuilder.setQueueType(queueType);
+        appender = appenderBuilder.build();
+        appender.start();
+
+        Configuration configuration = context.getConfiguration();
+        configuration.addAppender(appender);
+        LoggerConfig loggerConfig = new LoggerConfig(LOGGER_NAME, Level.INFO, false);
+        loggerConfig.addAppender(appender, null, null);
+        configuration.addLogger(LOGGER_NAME, loggerConfig);
+        context.updateLoggers();
+        logger = context.getLogger(LOGGER_NAME);
+    }
+
+    @TearDown
+    public void tearDown() {
+        Telemetry.print("Log4j2AppenderBenchmark");
+        appender.stop();
+        Configurator.shutdown(context);
+    }
+
+    @Benchmark
+    public void info(LogArgs args) {
+        logger.info("order {} paid {} by user {}", args.orderId, args.amount, args.userId);
+    }
+
+    @Benchmark
+    public void error(LogArgs args) {
+        logger.error("payment failed for order {}", args.orderId, args.failure);
+    }
+}
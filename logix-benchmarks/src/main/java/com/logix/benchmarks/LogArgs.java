@@ -0,0 +1,31 @@
+package com.logix.benchmarks;
+
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * 日志基准共用的参数，预先装箱，避免把装箱开销计入日志框架
+ *
+ * @author Kanade
+ * @since 2026/10/18
+ */
+@State(Scope.Thread)
+public class LogArgs {
+
+    /**
+     * 异常的栈深度，接近Web应用中业务异常的典型深度
+     */
+    private static final int STACK_DEPTH = 60;
+
+    final Long orderId = 20261018001L;
+    final Double amount = 199.0;
+    final String userId = "10086";
+    final Throwable failure = deepException(STACK_DEPTH);
+
+    private static Throwable deepException(int depth) {
+        if (depth <= 0) {
+            return new IllegalStateException("insufficient balance");
+        }
+        return deepException(depth - 1);
+    }
+}
@@ -0,0 +1,73 @@
+package com.logix.benchmarks;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import com.logix.client.logback.LogEventConverter;
+import com.logix.common.model.BaseLogEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logback事件转换：convertLog构造事件，extendMessage序列化为带MDC的JSON
+ * <p>
+ * 每次调用新建LoggingEvent，与Logback为每条日志创建事件一致，避免事件内部缓存的格式化结果被复用。
+ *
+ * @author Kanade
+ * @since 2026/10/18
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LogEventConverterBenchmark {
+
+    private static final String FQCN = LogEventConverterBenchmark.class.getName();
+
+    private Logger logger;
+    private Object[] args;
+
+    @Setup
+    public void setUp(LogArgs logArgs) {
+        logger = ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger("com.logix.benchmarks.converter");
+        args = new Object[]{logArgs.orderId, logArgs.amount, logArgs.userId};
+        MDC.put("traceId", "6A3F2B1C9D0E4F57");
+        MDC.put("userId", "10086");
+    }
+
+    @TearDown
+    public void tearDown() {
+        MDC.clear();
+    }
+
+    @Benchmark
+    public BaseLogEvent convertLog() {
+        return LogEventConverter.convertLog("benchmark", "bench", newEvent());
+    }
+
+    @Benchmark
+    public byte[] convertAndExtend() {
+        LoggingEvent event = newEvent();
+        return LogEventConverter.extendMessage(LogEventConverter.convertLog("benchmark", "bench", event), event);
+    }
+
+    private LoggingEvent newEvent() {
+        return new LoggingEvent(FQCN, logger, Level.INFO, "order {} paid {} by user {}", null, args);
+    }
+}
@@ -0,0 +1,87 @@
+package com.logix.benchmarks;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import com.logix.client.logback.LogixAppender;
+import com.logix.common.enums.PayloadFormat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 经Logback调用Logix Appender的业务线程开销（logger.info/error），发送到黑洞生产者
+ * <p>
+ * SampleTime模式输出p50/p99；callerDataLevel=ALL时每条日志都查找调用方法名，与默认WARN对比即为其开销。
+ * 与{@link Log4j2AppenderBenchmark}使用相同的消息与参数。
+ *
+ * @author Kanade
+ * @since 2026/10/18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LogbackAppenderBenchmark {
+
+    @Param({"WARN", "ALL"})
+    private String callerDataLevel;
+
+    @Param({"BINARY"})
+    private PayloadFormat format;
+
+    private LogixAppender appender;
+    private Logger logger;
+
+    @Setup
+    public void setUp() {
+        BlackholeProducer.install();
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        appender = new LogixAppender();
+        appender.setContext(context);
+        appender.setName("LOGIX");
+        appender.setAppName("benchmark");
+        appender.setEnv("bench");
+        appender.setBootstrapServers(BlackholeProducer.BOOTSTRAP_SERVERS);
+        appender.setWorkerCount(2);
+        appender.setFormat(format);
+        appender.setCallerDataLevel(callerDataLevel);
+        appender.start();
+
+        logger = context.getLogger("com.logix.benchmarks.logback");
+        logger.setAdditive(false);
+        logger.setLevel(Level.INFO);
+        logger.addAppender(appender);
+    }
+
+    @TearDown
+    public void tearDown() {
+        Telemetry.print("LogbackAppenderBenchmark");
+        logger.detachAppender(appender);
+        appender.stop();
+    }
+
+    @Benchmark
+    public void info(LogArgs args) {
+        logger.info("order {} paid {} by user {}", args.orderId, args.amount, args.userId);
+    }
+
+    @Benchmark
+    public void error(LogArgs args) {
+        logger.error("payment failed for order {}", args.orderId, args.failure);
+    }
+}
@@ -0,0 +1,75 @@
+package com.logix.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.logix.client.core.logging.LogEventBuilder;
+import com.logix.client.core.logging.LogPayloadSerializer;
+import com.logix.common.codec.LogEventDecoder;
+import com.logix.common.enums.LogLevel;
+import com.logix.common.enums.PayloadFormat;
+import com.logix.common.model.BaseLogEvent;
+import com.logix.common.model.RunLogEvent;
+import com.logix.common.util.JsonUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 运行日志的JSON与二进制编码：客户端序列化与服务端解码
+ *
+ * @author Kanade
+ * @since 2026/10/18
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PayloadCodecBenchmark {
+
+    @Param({"JSON", "BINARY"})
+    private PayloadFormat format;
+
+    private final ObjectReader reader = JsonUtils.getObjectMapper().readerFor(RunLogEvent.class);
+    private final LogEventDecoder decoder = new LogEventDecoder();
+    private final Map<String, String> mdc = Collections.singletonMap("userId", "10086");
+
+    private RunLogEvent event;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() {
+        event = LogEventBuilder.createRunLog("order-service", "prod",
+                "order 20261018001 paid 199.00 by user 10086", System.currentTimeMillis(), "6A3F2B1C9D0E4F57");
+        event.setLogLevel(LogLevel.INFO);
+        event.setClassName("com.example.order.OrderService");
+        event.setThreadName("http-nio-8080-exec-12");
+        event.setMethodName("pay");
+        payload = LogPayloadSerializer.serialize(format, event, mdc);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return LogPayloadSerializer.serialize(format, event, mdc);
+    }
+
+    @Benchmark
+    public BaseLogEvent decode() throws Exception {
+        if (format == PayloadFormat.BINARY) {
+            return decoder.decode(payload);
+        }
+        return reader.readValue(payload);
+    }
+}
@@ -0,0 +1,164 @@
+package com.logix.benchmarks;
+
+import com.logix.client.core.kafka.KafkaProducerClient;
+import com.logix.common.constants.LogixConstants;
+import com.logix.common.enums.PayloadFormat;
+import org.apache.commons.pool2.BasePooledObjectFactory;
+import org.apache.commons.pool2.PooledObject;
+import org.apache.commons.pool2.impl.DefaultPooledObject;
+import org.apache.commons.pool2.impl.GenericObjectPool;
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+import org.apache.kafka.clients.producer.Callback;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 生产者层发送一批日志：旧版连接池方式与当前共享生产者方式对比
+ * <p>
+ * pooled还原旧版KafkaProducerClient：每批从commons-pool借出一个String值的生产者，逐条发送后归还，
+ * 序列化在生产者内按StringSerializer进行；shared为当前实现，所有线程共享一个byte[]值的生产者。
+ * 两者均使用立即回调的黑洞生产者，结果为每批的发送开销，配合GC分析对比每批分配字节数。
+ * <p>
+ * 黑洞生产者不占用缓冲区与I/O线程，常驻内存差异不在测量结果中：结束时输出连接池累计创建的生产者数
+ * （空闲数超过maxIdle时归还的生产者被销毁，之后再重新创建）与同时存活的上限，每个真实KafkaProducer
+ * 各自持有buffer.memory大小的缓冲区与一个I/O线程。
+ *
+ * @author Kanade
+ * @since 2026/10/18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(16)
+public class ProducerBenchmark {
+
+    private static final String TOPIC = LogixConstants.Kafka.RUN_TOPIC;
+
+    @Param({"100"})
+    private int batchSize;
+
+    private List<String> textBatch;
+    private List<byte[]> binaryBatch;
+
+    private GenericObjectPool<Producer<String, String>> pool;
+    private KafkaProducerClient client;
+
+    @Setup
+    public void setUp() {
+        textBatch = new ArrayList<>(batchSize);
+        binaryBatch = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            String message = "{\"appName\":\"order-service\",\"env\":\"prod\",\"logLevel\":\"INFO\",\"seq\":" + i
+                    + ",\"content\":\"order 2026101800" + i + " paid by user 100" + (i % 7) + "\"}";
+            textBatch.add(message);
+            binaryBatch.add(message.getBytes(StandardCharsets.UTF_8));
+        }
+
+        // 旧版连接池参数
+        GenericObjectPoolConfig<Producer<String, String>> poolConfig = new GenericObjectPoolConfig<>();
+        poolConfig.setMinIdle(0);
+        poolConfig.setMaxIdle(8);
+        poolConfig.setMaxTotal(30);
+        poolConfig.setMaxWait(Duration.ofSeconds(1));
+        pool = new GenericObjectPool<>(new PooledProducerFactory(), poolConfig);
+
+        client = BlackholeProducer.install();
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (pool.getCreatedCount() > 0) {
+            long bufferMb = LogixConstants.Kafka.BUFFER_MEMORY / 1048576;
+            System.out.println("[ProducerBenchmark] pooled producers created=" + pool.getCreatedCount()
+                    + ", destroyed=" + pool.getDestroyedCount()
+                    + ", buffer.memory upper bound=" + pool.getMaxTotal() * bufferMb
+                    + "MB; shared producers=" + LogixConstants.Kafka.PRODUCER_SHARDS
+                    + ", buffer.memory=" + LogixConstants.Kafka.PRODUCER_SHARDS * bufferMb
+                    + "MB");
+        }
+        pool.close();
+    }
+
+    @Benchmark
+    public void pooled() throws Exception {
+        Producer<String, String> producer = pool.borrowObject();
+        try {
+            for (String message : textBatch) {
+                producer.send(new ProducerRecord<>(TOPIC, message));
+            }
+        } finally {
+            pool.returnObject(producer);
+        }
+    }
+
+    @Benchmark
+    public void shared() throws Exception {
+        client.putMessageList(TOPIC, binaryBatch, PayloadFormat.JSON);
+    }
+
+    private static final class PooledProducerFactory extends BasePooledObjectFactory<Producer<String, String>> {
+
+        @Override
+        public Producer<String, String> create() {
+            return new StringBlackholeProducer();
+        }
+
+        @Override
+        public PooledObject<Producer<String, String>> wrap(Producer<String, String> producer) {
+            return new DefaultPooledObject<>(producer);
+        }
+    }
+
+    /**
+     * 旧版String值的黑洞生产者，发送时按StringSerializer序列化后丢弃
+     */
+    private static final class StringBlackholeProducer extends MockProducer<String, String> {
+
+        private final StringSerializer serializer = new StringSerializer();
+        private final RecordMetadata metadata = new RecordMetadata(new TopicPartition(TOPIC, 0), 0, 0, 0, 0, 0);
+        private final Future<RecordMetadata> completed = CompletableFuture.completedFuture(metadata);
+        private final LongAdder bytes = new LongAdder();
+
+        private StringBlackholeProducer() {
+            super(true, new StringSerializer(), new StringSerializer());
+        }
+
+        @Override
+        public Future<RecordMetadata> send(ProducerRecord<String, String> record, Callback callback) {
+            bytes.add(serializer.serialize(record.topic(), record.value()).length);
+            if (callback != null) {
+                callback.onCompletion(metadata, null);
+            }
+            return completed;
+        }
+    }
+}
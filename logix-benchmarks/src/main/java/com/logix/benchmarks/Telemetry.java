@@ -0,0 +1,22 @@
+package com.logix.benchmarks;
+
+import com.logix.client.core.metrics.DispatcherMetrics;
+import com.logix.client.core.metrics.LogixMetrics;
+
+/**
+ * 基准结束时输出分发器指标，用于确认日志是被发送而不是因队列已满被丢弃
+ *
+ * @author Kanade
+ * @since 2026/10/18
+ */
+final class Telemetry {
+
+    private Telemetry() {
+    }
+
+    static void print(String benchmark) {
+        for (DispatcherMetrics metrics : LogixMetrics.all()) {
+            System.out.println("[" + benchmark + "] " + metrics);
+        }
+    }
+}
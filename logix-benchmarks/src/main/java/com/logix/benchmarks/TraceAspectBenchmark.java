@@ -0,0 +1,122 @@
+package com.logix.benchmarks;
+
+import com.logix.client.core.logging.DispatcherConfig;
+import com.logix.client.core.logging.LogEventDispatcher;
+import com.logix.client.core.trace.TraceContext;
+import com.logix.client.core.trace.TraceLogPublisher;
+import com.logix.client.core.trace.TraceSampling;
+import com.logix.client.core.trace.annotation.Trace;
+import com.logix.client.core.trace.aspect.TraceAspect;
+import com.logix.common.config.KafkaSecurityConfig;
+import com.logix.common.enums.PayloadFormat;
+import com.logix.common.util.IdUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code @Trace}方法的切面开销，以Spring AOP真实代理运行AbstractAspect.aroundExecute
+ * <ul>
+ *     <li>direct：直接调用，无代理</li>
+ *     <li>untraced：经代理调用未标注的方法</li>
+ *     <li>traced：经代理调用标注方法，按sampling参数决定链路状态</li>
+ * </ul>
+ * sampling：NONE无链路上下文，SAMPLED投递SPAN，DROPPED入口已决定不采样。
+ *
+ * @author Kanade
+ * @since 2026/10/18
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TraceAspectBenchmark {
+
+    @Param({"NONE", "SAMPLED", "DROPPED"})
+    private String sampling;
+
+    private OrderService target;
+    private OrderService proxy;
+    private LogEventDispatcher dispatcher;
+    private long amount = 199;
+
+    @Setup
+    public void setUp() {
+        BlackholeProducer.install();
+        dispatcher = new LogEventDispatcher(DispatcherConfig.builder()
+                .bootstrapServers(BlackholeProducer.BOOTSTRAP_SERVERS)
+                .securityConfig(KafkaSecurityConfig.builder().build())
+                .queueCapacity(65536)
+                .workerCount(2)
+                .payloadFormat(PayloadFormat.BINARY)
+                .metricsName("trace-aspect")
+                .jmxEnabled(false)
+                .build());
+        TraceLogPublisher.register("benchmark", "bench", dispatcher);
+
+        target = new OrderService();
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new TraceAspect());
+        proxy = factory.getProxy();
+
+        if (!"NONE".equals(sampling)) {
+            TraceContext.currentTraceID.set(IdUtils.generateTraceId());
+            TraceContext.currentSampling.set("DROPPED".equals(sampling) ? TraceSampling.DROPPED : TraceSampling.SAMPLED);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        Telemetry.print("TraceAspectBenchmark");
+        TraceContext.currentTraceID.remove();
+        TraceContext.currentSampling.remove();
+        TraceContext.currentTraceMessage.remove();
+        TraceLogPublisher.unregister(dispatcher);
+        dispatcher.close();
+    }
+
+    @Benchmark
+    public long direct() {
+        return target.price(amount);
+    }
+
+    @Benchmark
+    public long untraced() {
+        return proxy.quote(amount);
+    }
+
+    @Benchmark
+    public long traced() {
+        return proxy.price(amount);
+    }
+
+    /**
+     * 被代理的业务类，需为public且非final以便生成子类代理
+     */
+    public static class OrderService {
+
+        @Trace
+        public long price(long amount) {
+            return amount * 31 + 7;
+        }
+
+        public long quote(long amount) {
+            return amount * 31 + 7;
+        }
+    }
+}
@@ -1,13 +1,21 @@
 package com.logix.client.core.circuit;
 
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.extern.slf4j.Slf4j;
 
-import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * 断路器，防止重复失败
+ * <p>
+ * CLOSED状态下按窗口统计失败率，达到阈值后进入OPEN；退避时间（指数增长并带抖动）结束后进入HALF_OPEN，
+ * 只放行一个探测批次：成功则关闭并重置退避，失败则以更长的退避重新熔断。
+ * <p>
+ * 每次状态切换都开启新的一代，放行时返回的凭证标识所在的状态与代数，调用方上报结果时带回凭证，
+ * 只有属于当前这一代的结果才会被计入：熔断前或探测前发出的记录迟到的回调不会误关或误开断路器，
+ * 半开状态下也只有探测批次的结果能决定去向。发送路径上只读取一次volatile状态，状态切换加锁。
  *
  * @author Kanade
  * @since 2025/10/25
@@ -15,30 +23,205 @@ import java.time.Duration;
 @Slf4j
 public class CircuitBreaker {
 
-    private static final String FAILURE_KEY = "send_failed";
+    /**
+     * 未获得放行时返回的凭证
+     */
+    public static final long DENIED = -1L;
+
+    private static final int MAX_BACKOFF_SHIFT = 30;
+    private static final int STATE_BITS = 2;
+    private static final CircuitState[] STATES = CircuitState.values();
+
+    private final double failureRateThreshold;
+    private final int minimumCalls;
+    private final long windowNanos;
+    private final long initialBackoffNanos;
+    private final long maxBackoffNanos;
+    private final double jitter;
+    private final long probeTimeoutNanos;
+
+    private final List<CircuitStateListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * 当前阶段：高位为代数，每次状态切换加一；低2位为状态序号。放行凭证即放行时的阶段
+     */
+    private volatile long phase = phase(0, CircuitState.CLOSED);
+
+    /**
+     * 当前窗口计数：高32位为失败数，低32位为请求数
+     */
+    private final AtomicLong windowCounts = new AtomicLong();
+    private volatile long windowStartNanos = System.nanoTime();
 
-    private final Cache<String, Boolean> statusCache;
+    private volatile long openUntilNanos;
+    private volatile long probeDeadlineNanos;
+    private int consecutiveOpens;
 
-    public CircuitBreaker(Duration quietPeriod) {
-        this.statusCache = Caffeine.newBuilder()
-                .expireAfterWrite(quietPeriod)
-                .maximumSize(1)
-                .build();
+    public CircuitBreaker(CircuitBreakerConfig config) {
+        this.failureRateThreshold = config.getFailureRateThreshold();
+        this.minimumCalls = Math.max(1, config.getMinimumCalls());
+        this.windowNanos = config.getWindow().toNanos();
+        this.initialBackoffNanos = config.getInitialBackoff().toNanos();
+        this.maxBackoffNanos = Math.max(initialBackoffNanos, config.getMaxBackoff().toNanos());
+        this.jitter = config.getJitter();
+        this.probeTimeoutNanos = config.getProbeTimeout().toNanos();
+    }
+
+    /**
+     * 申请放行本次请求；HALF_OPEN状态下只有一个调用方能拿到探测机会
+     *
+     * @return 放行凭证，上报结果时带回；未放行时返回{@link #DENIED}
+     */
+    public long tryAcquire() {
+        long current = phase;
+        CircuitState state = stateOf(current);
+        if (state == CircuitState.CLOSED) {
+            return current;
+        }
+
+        long now = System.nanoTime();
+        if (state == CircuitState.OPEN) {
+            return now - openUntilNanos >= 0 ? transition(current, CircuitState.HALF_OPEN, now, null) : DENIED;
+        }
+
+        // 探测批次迟迟没有结果，按失败处理
+        if (now - probeDeadlineNanos >= 0) {
+            transition(current, CircuitState.OPEN, now, "probe timeout");
+        }
+        return DENIED;
+    }
+
+    /**
+     * 只在CLOSED状态下放行，不会占用半开状态的探测机会
+     *
+     * @return 放行凭证，未放行时返回{@link #DENIED}
+     */
+    public long tryAcquireClosed() {
+        long current = phase;
+        return stateOf(current) == CircuitState.CLOSED ? current : DENIED;
     }
 
     /**
-     * 检查是否处于熔断状态
+     * 记录一次成功
+     *
+     * @param permit 发送前取得的放行凭证
      */
-    public boolean isBlocked() {
-        return statusCache.getIfPresent(FAILURE_KEY) != null;
+    public void recordSuccess(long permit) {
+        // 凭证不属于当前这一代，是状态切换前发出的记录迟到的结果，忽略
+        if (permit != phase) {
+            return;
+        }
+        CircuitState state = stateOf(permit);
+        if (state == CircuitState.CLOSED) {
+            count(0, 1);
+        } else if (state == CircuitState.HALF_OPEN) {
+            transition(permit, CircuitState.CLOSED, System.nanoTime(), null);
+        }
     }
 
     /**
      * 记录失败并触发断路器
+     *
+     * @param permit 发送前取得的放行凭证
      */
-    public void recordFailure(String error) {
-        statusCache.put(FAILURE_KEY, true);
-        log.debug("[断路器] 触发熔断，进入静默期: {}", error);
+    public void recordFailure(long permit, String error) {
+        recordFailure(permit, 1, error);
     }
 
-}
\ No newline at end of file
+    /**
+     * 记录多次失败，例如整个批次同步发送失败
+     *
+     * @param permit 发送前取得的放行凭证
+     */
+    public void recordFailure(long permit, int failures, String error) {
+        if (permit != phase) {
+            return;
+        }
+        CircuitState state = stateOf(permit);
+        if (state == CircuitState.HALF_OPEN) {
+            transition(permit, CircuitState.OPEN, System.nanoTime(), error);
+        } else if (state == CircuitState.CLOSED) {
+            long counts = count(failures, failures);
+            int failed = (int) (counts >>> 32);
+            int calls = (int) counts;
+            if (calls >= minimumCalls && failed >= calls * failureRateThreshold) {
+                transition(permit, CircuitState.OPEN, System.nanoTime(), error);
+            }
+        }
+    }
+
+    public CircuitState getState() {
+        return stateOf(phase);
+    }
+
+    public void addListener(CircuitStateListener listener) {
+        listeners.add(listener);
+    }
+
+    private long count(int failures, int calls) {
+        long now = System.nanoTime();
+        if (now - windowStartNanos >= windowNanos) {
+            // 窗口切换存在竞争，最多丢失少量计数，对失败率判断影响可以忽略
+            windowStartNanos = now;
+            windowCounts.set(0);
+        }
+        return windowCounts.addAndGet(((long) failures << 32) + calls);
+    }
+
+    /**
+     * 从指定阶段切换到新状态
+     *
+     * @return 切换后的阶段；当前已不是from阶段时返回{@link #DENIED}
+     */
+    private long transition(long from, CircuitState to, long now, String error) {
+        long next;
+        synchronized (this) {
+            if (phase != from) {
+                return DENIED;
+            }
+            if (to == CircuitState.OPEN) {
+                openUntilNanos = now + nextBackoff();
+            } else if (to == CircuitState.HALF_OPEN) {
+                probeDeadlineNanos = now + probeTimeoutNanos;
+            } else {
+                consecutiveOpens = 0;
+                windowStartNanos = now;
+                windowCounts.set(0);
+            }
+            next = phase((from >>> STATE_BITS) + 1, to);
+            phase = next;
+        }
+
+        if (to == CircuitState.OPEN) {
+            log.debug("[断路器] 触发熔断，进入静默期: {}", error);
+        } else {
+            log.debug("[断路器] 状态变更: {} -> {}", stateOf(from), to);
+        }
+        for (CircuitStateListener listener : listeners) {
+            try {
+                listener.onStateChange(stateOf(from), to);
+            } catch (Exception e) {
+                log.debug("[断路器] 状态监听异常", e);
+            }
+        }
+        return next;
+    }
+
+    private long nextBackoff() {
+        int shift = Math.min(consecutiveOpens++, MAX_BACKOFF_SHIFT);
+        long backoff = initialBackoffNanos << shift;
+        if (backoff <= 0 || backoff > maxBackoffNanos) {
+            backoff = maxBackoffNanos;
+        }
+        double factor = 1 + jitter * (ThreadLocalRandom.current().nextDouble() * 2 - 1);
+        return (long) (backoff * factor);
+    }
+
+    private static long phase(long generation, CircuitState state) {
+        return generation << STATE_BITS | state.ordinal();
+    }
+
+    private static CircuitState stateOf(long phase) {
+        return STATES[(int) (phase & ((1 << STATE_BITS) - 1))];
+    }
+}
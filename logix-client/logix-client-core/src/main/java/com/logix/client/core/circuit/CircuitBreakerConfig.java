@@ -0,0 +1,59 @@
+package com.logix.client.core.circuit;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * 断路器配置
+ *
+ * @author Kanade
+ * @since 2026/10/18
+ */
+@Getter
+@Builder
+public class CircuitBreakerConfig {
+
+    /**
+     * 失败率阈值，窗口内失败率达到该值时熔断
+     */
+    @Builder.Default
+    private final double failureRateThreshold = 0.5;
+
+    /**
+     * 窗口内最少请求数，不足时不计算失败率
+     */
+    @Builder.Default
+    private final int minimumCalls = 20;
+
+    /**
+     * 失败率统计窗口
+     */
+    @Builder.Default
+    private final Duration window = Duration.ofSeconds(10);
+
+    /**
+     * 首次熔断的退避时间，此后每次探测失败翻倍
+     */
+    @Builder.Default
+    private final Duration initialBackoff = Duration.ofSeconds(1);
+
+    /**
+     * 退避时间上限
+     */
+    @Builder.Default
+    private final Duration maxBackoff = Duration.ofSeconds(30);
+
+    /**
+     * 退避抖动比例，避免多个实例同时探测
+     */
+    @Builder.Default
+    private final double jitter = 0.2;
+
+    /**
+     * 探测批次等待结果的最长时间，超时视为探测失败
+     */
+    @Builder.Default
+    private final Duration probeTimeout = Duration.ofSeconds(15);
+}
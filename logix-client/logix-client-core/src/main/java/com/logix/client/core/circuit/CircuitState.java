@@ -0,0 +1,25 @@
+package com.logix.client.core.circuit;
+
+/**
+ * 断路器状态
+ *
+ * @author Kanade
+ * @since 2026/10/18
+ */
+public enum CircuitState {
+
+    /**
+     * 正常放行，统计窗口内的失败率
+     */
+    CLOSED,
+
+    /**
+     * 熔断中，退避时间内拒绝所有请求
+     */
+    OPEN,
+
+    /**
+     * 退避结束，仅放行一个探测批次，根据其结果关闭或重新熔断
+     */
+    HALF_OPEN
+}
@@ -0,0 +1,13 @@
+package com.logix.client.core.circuit;
+
+/**
+ * 断路器状态变更监听，可能在发送线程或KafkaProducer的I/O线程中回调，实现不可阻塞
+ *
+ * @author Kanade
+ * @since 2026/10/18
+ */
+@FunctionalInterface
+public interface CircuitStateListener {
+
+    void onStateChange(CircuitState from, CircuitState to);
+}
@@ -0,0 +1,32 @@
+package com.logix.client.core.kafka;
+
+/**
+ * 投递结果监听，按日志条数计，一个信封计为其中的事件条数
+ * <p>
+ * onSent在发送线程中回调，onSuccess/onFailure在KafkaProducer的I/O线程中回调，实现必须轻量且不可阻塞。
+ * 同步发送异常不回调onFailure，由调用方根据抛出的异常自行处理。
+ *
+ * @author Kanade
+ * @since 2026/10/18
+ */
+public interface DeliveryListener {
+
+    /**
+     * 记录已交给KafkaProducer
+     */
+    void onSent(String topic, int records);
+
+    /**
+     * 记录投递成功
+     *
+     * @param latencyNanos 交给KafkaProducer到投递回调的耗时
+     */
+    void onSuccess(String topic, int records, long latencyNanos);
+
+    /**
+     * 记录投递失败（broker返回错误或发送超时）
+     *
+     * @param latencyNanos 交给KafkaProducer到投递回调的耗时
+     */
+    void onFailure(String topic, int records, long latencyNanos, Exception exception);
+}
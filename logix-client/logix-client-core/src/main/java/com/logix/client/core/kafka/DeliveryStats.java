@@ -0,0 +1,95 @@
+package com.logix.client.core.kafka;
+
+import com.logix.client.core.metrics.Histogram;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 单个topic的投递统计，均按日志条数计，一个信封计为其中的事件条数
+ * <ul>
+ *     <li>sent：尝试交给KafkaProducer的记录数，含同步发送异常的记录</li>
+ *     <li>acked：投递回调成功的记录数（acks=0时仅表示已写出客户端）</li>
+ *     <li>failed：同步发送异常或回调返回异常的记录数</li>
+ *     <li>dropped：未尝试发送即被丢弃的记录数（队列已满、熔断中）</li>
+ * </ul>
+ * 另记录每条记录从交给KafkaProducer到投递回调的延迟。
+ * <p>
+ * 统计归属于创建它的分发器，由分发器自己的{@link DeliveryListener}和同步发送路径写入，
+ * 多个分发器共用同一个Kafka客户端时互不影响。
+ *
+ * @author Kanade
+ * @since 2026/10/18
+ */
+public final class DeliveryStats {
+
+    private final String topic;
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder acked = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final Histogram sendLatency = new Histogram();
+
+    public DeliveryStats(String topic) {
+        this.topic = topic;
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    public long getSent() {
+        return sent.sum();
+    }
+
+    public long getAcked() {
+        return acked.sum();
+    }
+
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * 交给KafkaProducer到投递回调的延迟分布（纳秒），acks=0时只反映客户端内的排队
+     */
+    public Histogram.Snapshot getSendLatency() {
+        return sendLatency.snapshot();
+    }
+
+    /**
+     * 已发送但尚未收到回调的记录数
+     */
+    public long getInFlight() {
+        return Math.max(0L, getSent() - getAcked() - getFailed());
+    }
+
+    public void recordSent(int count) {
+        sent.add(count);
+    }
+
+    public void recordAcked(int count) {
+        acked.add(count);
+    }
+
+    public void recordFailed(int count) {
+        failed.add(count);
+    }
+
+    public void recordSendLatency(long nanos) {
+        sendLatency.record(nanos);
+    }
+
+    public void recordDropped(int count) {
+        dropped.add(count);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s{sent=%d, acked=%d, failed=%d, dropped=%d}",
+                topic, getSent(), getAcked(), getFailed(), getDropped());
+    }
+}
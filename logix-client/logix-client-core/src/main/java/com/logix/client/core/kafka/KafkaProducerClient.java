@@ -2,14 +2,42 @@ package com.logix.client.core.kafka;
 
 import com.logix.client.core.kafka.exception.KafkaConnectException;
 import com.logix.common.config.KafkaSecurityConfig;
+import com.logix.common.enums.EnvelopeCompression;
+import com.logix.common.enums.PayloadFormat;
+import com.logix.common.util.ThreadPoolUtils;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.Callback;
+import org.apache.kafka.clients.producer.Producer;
 import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeader;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static com.logix.common.constants.LogixConstants.Kafka.ENVELOPE_HEADER;
+import static com.logix.common.constants.LogixConstants.Kafka.FORMAT_HEADER;
 
 /**
  * Kafka生产者客户端
+ * <p>
+ * KafkaProducer本身线程安全，且每个实例独占缓冲内存与I/O线程，因此按生产者参数共享少量实例：
+ * 地址、认证、分片数、acks与压缩算法都相同的分发器共用一个客户端，参数不同时各自创建，
+ * 不会因为创建顺序而忽略某个分发器的acks或压缩配置。客户端内按topic固定映射到分片，发送路径无需借还对象。
+ * 投递结果回调调用方传入的{@link DeliveryListener}，客户端自身不做统计，共用客户端的分发器各自计数。
+ * 信封消息在格式头之外携带 {@code logix-envelope} 头，一条记录包含多条日志。
+ * <p>
+ * 带键的记录由{@link KeyPartitioner}显式指定分区，不配置partitioner.class，
+ * 未带键的记录仍使用KafkaProducer内置的粘性分区以保持批量效率。分区数在后台读取，尚不可用时去掉记录的键、按粘性分区发送。
  *
  * @author Kanade
  * @since 2025/10/14
@@ -17,54 +45,267 @@ import java.util.List;
 @Slf4j
 public class KafkaProducerClient {
 
-    private static volatile KafkaProducerClient instance;
-    private final KafkaProducerPool producerPool;
+    private static final Map<String, KafkaProducerClient> INSTANCES = new ConcurrentHashMap<>();
+    private static final Map<PayloadFormat, List<Header>> FORMAT_HEADERS = buildFormatHeaders();
+    private static final Map<PayloadFormat, Map<EnvelopeCompression, List<Header>>> ENVELOPE_HEADERS =
+            buildEnvelopeHeaders();
+
+    /**
+     * 分区数缓存时长，到期后从生产者元数据重新读取，以感知分区扩容
+     */
+    private static final long PARTITION_COUNT_TTL_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    /**
+     * 后台读取分区元数据，所有客户端共用一个守护线程，首次使用时才创建
+     */
+    private static final ExecutorService METADATA_EXECUTOR = Executors.newSingleThreadExecutor(
+            ThreadPoolUtils.createDaemonThreadFactory("logix-partition-metadata"));
+
+    private final Producer<String, byte[]>[] producers;
+    private final Map<String, PartitionCount> partitionCounts = new ConcurrentHashMap<>();
+    private final Set<String> refreshingTopics = ConcurrentHashMap.newKeySet();
 
-    private KafkaProducerClient(String bootstrapServers, KafkaSecurityConfig securityConfig) {
-        this.producerPool = new KafkaProducerPool(bootstrapServers, securityConfig);
+    @SuppressWarnings("unchecked")
+    private KafkaProducerClient(ProducerOptions options) {
+        this.producers = new Producer[Math.max(1, options.getShards())];
+        for (int i = 0; i < producers.length; i++) {
+            producers[i] = options.getProducerFactory() != null
+                    ? options.getProducerFactory().apply(options)
+                    : KafkaProducerFactory.create(options);
+        }
     }
 
     public static KafkaProducerClient getInstance(String bootstrapServers, KafkaSecurityConfig securityConfig) {
-        if (instance == null) {
-            synchronized (KafkaProducerClient.class) {
-                if (instance == null) {
-                    instance = new KafkaProducerClient(bootstrapServers, securityConfig);
-                }
-            }
+        return getInstance(ProducerOptions.builder()
+                .bootstrapServers(bootstrapServers)
+                .securityConfig(securityConfig)
+                .build());
+    }
+
+    /**
+     * 获取与生产者参数对应的共享客户端，不存在时创建
+     * <p>
+     * producerFactory不参与匹配，只在对应参数的客户端首次创建时使用。
+     */
+    public static KafkaProducerClient getInstance(ProducerOptions options) {
+        String key = options.sharingKey();
+        KafkaProducerClient client = INSTANCES.get(key);
+        if (client == null) {
+            client = INSTANCES.computeIfAbsent(key, k -> new KafkaProducerClient(options));
         }
-        return instance;
+        return client;
+    }
+
+    public void putMessageList(String topic, List<byte[]> messageList, PayloadFormat format) throws KafkaConnectException {
+        putMessageList(topic, messageList, format, null);
     }
 
-    public KafkaProducer<String, String> getProducer() {
+    /**
+     * 异步发送一批消息，每条记录的投递结果回调监听器
+     *
+     * @param listener 投递结果监听，可为null
+     */
+    public void putMessageList(String topic, List<byte[]> messageList, PayloadFormat format,
+                               DeliveryListener listener) throws KafkaConnectException {
+        putMessageList(topic, messageList, null, format, listener);
+    }
+
+    /**
+     * 异步发送一批带分区键的消息
+     *
+     * @param keys     与messageList一一对应的分区键，为null或元素为null时不指定分区；
+     *                 分区数尚不可用时记录不带键，按粘性分区发送
+     * @param listener 投递结果监听，可为null
+     * @throws KafkaConnectException 发送失败，{@link KafkaConnectException#getSent()}为失败前已发送的条数
+     */
+    public void putMessageList(String topic, List<byte[]> messageList, List<String> keys, PayloadFormat format,
+                               DeliveryListener listener) throws KafkaConnectException {
+        Producer<String, byte[]> kafkaProducer = producerFor(topic);
+        List<Header> headers = FORMAT_HEADERS.get(format);
+        Callback callback = callback(topic, 1, listener);
+
+        int sent = 0;
         try {
-            return producerPool.borrowObject();
+            for (int i = 0; i < messageList.size(); i++) {
+                String key = keys != null ? keys.get(i) : null;
+                Integer partition = key != null ? partitionFor(topic, key) : null;
+                if (partition == null) {
+                    // 分区数未知时不带键，否则KafkaProducer会按自己的哈希选择分区，与KeyPartitioner不一致
+                    key = null;
+                }
+                kafkaProducer.send(new ProducerRecord<>(topic, partition, key, messageList.get(i), headers), callback);
+                sent++;
+                if (listener != null) {
+                    listener.onSent(topic, 1);
+                }
+            }
         } catch (Exception e) {
-            return null;
+            throw new KafkaConnectException("Kafka写入失败", e, sent);
         }
     }
 
-    public void returnProducer(KafkaProducer<String, String> producer) {
+    /**
+     * 异步发送一个信封，监听器每个信封回调一次，条数为信封内的日志条数
+     *
+     * @param envelope 已打包的信封，见LogEnvelope
+     * @param events   信封内的日志条数
+     * @param listener 投递结果监听，可为null
+     */
+    public void putEnvelope(String topic, byte[] envelope, int events, PayloadFormat format,
+                            EnvelopeCompression compression, DeliveryListener listener) throws KafkaConnectException {
+        putEnvelope(topic, null, envelope, events, format, compression, listener);
+    }
+
+    /**
+     * 异步发送一个信封到指定分区
+     *
+     * @param partition 目标分区，为null时粘性分区
+     */
+    public void putEnvelope(String topic, Integer partition, byte[] envelope, int events, PayloadFormat format,
+                            EnvelopeCompression compression, DeliveryListener listener) throws KafkaConnectException {
         try {
-            producerPool.returnObject(producer);
+            producerFor(topic).send(new ProducerRecord<>(topic, partition, (String) null, envelope,
+                    ENVELOPE_HEADERS.get(format).get(compression)), callback(topic, events, listener));
         } catch (Exception e) {
-            producerPool.returnBrokenObject(producer);
+            throw new KafkaConnectException("Kafka写入失败", e);
+        }
+        if (listener != null) {
+            listener.onSent(topic, events);
+        }
+    }
+
+    /**
+     * 分区键对应的分区，分区数取自生产者元数据并短时缓存
+     * <p>
+     * 读取元数据可能阻塞到max.block.ms，因此缓存未命中或过期时只在后台刷新，不阻塞发送线程：
+     * 过期时先沿用旧的分区数；从未取得过分区数时返回null，调用方应以不带键的记录发送（粘性分区），
+     * 这段时间内同一键的日志不保证进入同一分区。可用{@link #prefetchPartitions}提前加载以缩短这段时间。
+     *
+     * @return 分区号，分区数尚不可用时返回null
+     */
+    public Integer partitionFor(String topic, String key) {
+        PartitionCount cached = partitionCounts.get(topic);
+        if (cached == null || System.nanoTime() - cached.loadedAt > PARTITION_COUNT_TTL_NANOS) {
+            refreshPartitionCount(topic);
+        }
+        return cached != null ? KeyPartitioner.partition(key, cached.count) : null;
+    }
+
+    /**
+     * 在后台提前加载topic的分区数，供带键发送的分发器在创建时调用
+     */
+    public void prefetchPartitions(String topic) {
+        if (!partitionCounts.containsKey(topic)) {
+            refreshPartitionCount(topic);
         }
     }
 
-    public void putMessageList(String topic, List<String> messageList) throws KafkaConnectException {
-        KafkaProducer<String, String> kafkaProducer = null;
+    private void refreshPartitionCount(String topic) {
+        if (!refreshingTopics.add(topic)) {
+            return;
+        }
         try {
-            kafkaProducer = this.getProducer();
-            for (String message : messageList) {
-                kafkaProducer.send(new ProducerRecord<>(topic, message));
+            METADATA_EXECUTOR.execute(() -> {
+                try {
+                    int count = producerFor(topic).partitionsFor(topic).size();
+                    if (count > 0) {
+                        partitionCounts.put(topic, new PartitionCount(count, System.nanoTime()));
+                    }
+                } catch (Exception e) {
+                    log.debug("[Kafka] 获取分区信息失败: {}", e.getMessage());
+                } finally {
+                    refreshingTopics.remove(topic);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshingTopics.remove(topic);
+        }
+    }
+
+    /**
+     * 等待全部生产者发出缓冲中的记录并收到回调，最多等待timeoutMillis毫秒
+     * <p>
+     * KafkaProducer.flush()不支持超时，因此在守护线程中执行；超时后不再等待，也不会阻止JVM退出。
+     *
+     * @return 是否在超时前完成
+     */
+    public boolean flush(long timeoutMillis) {
+        if (timeoutMillis <= 0) {
+            return false;
+        }
+        Thread flusher = new Thread(() -> {
+            for (Producer<String, byte[]> producer : producers) {
+                try {
+                    producer.flush();
+                } catch (Exception e) {
+                    log.debug("[Kafka] flush失败: {}", e.getMessage());
+                }
             }
-        } catch (Exception e) {
-            throw new KafkaConnectException("Kafka写入失败", e);
-        } finally {
-            if (kafkaProducer != null) {
-                this.returnProducer(kafkaProducer);
+        }, "logix-producer-flush");
+        flusher.setDaemon(true);
+        flusher.start();
+        try {
+            flusher.join(timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return !flusher.isAlive();
+    }
+
+    /**
+     * 投递回调，记录交给KafkaProducer时的时间以计算投递延迟；没有监听器时不注册回调
+     */
+    private static Callback callback(String topic, int records, DeliveryListener listener) {
+        if (listener == null) {
+            return null;
+        }
+        long sendNanos = System.nanoTime();
+        return (metadata, exception) -> {
+            if (exception == null) {
+                listener.onSuccess(topic, records, System.nanoTime() - sendNanos);
+            } else {
+                listener.onFailure(topic, records, System.nanoTime() - sendNanos, exception);
             }
+        };
+    }
+
+    private Producer<String, byte[]> producerFor(String topic) {
+        if (producers.length == 1) {
+            return producers[0];
+        }
+        return producers[(topic.hashCode() & Integer.MAX_VALUE) % producers.length];
+    }
+
+    private static Map<PayloadFormat, List<Header>> buildFormatHeaders() {
+        Map<PayloadFormat, List<Header>> headers = new EnumMap<>(PayloadFormat.class);
+        for (PayloadFormat format : PayloadFormat.values()) {
+            headers.put(format, Collections.singletonList(new RecordHeader(FORMAT_HEADER, format.headerValue())));
+        }
+        return headers;
+    }
+
+    private static final class PartitionCount {
+
+        private final int count;
+        private final long loadedAt;
+
+        private PartitionCount(int count, long loadedAt) {
+            this.count = count;
+            this.loadedAt = loadedAt;
         }
     }
 
-}
\ No newline at end of file
+    private static Map<PayloadFormat, Map<EnvelopeCompression, List<Header>>> buildEnvelopeHeaders() {
+        Map<PayloadFormat, Map<EnvelopeCompression, List<Header>>> headers = new EnumMap<>(PayloadFormat.class);
+        for (PayloadFormat format : PayloadFormat.values()) {
+            Map<EnvelopeCompression, List<Header>> byCompression = new EnumMap<>(EnvelopeCompression.class);
+            for (EnvelopeCompression compression : EnvelopeCompression.values()) {
+                byCompression.put(compression, Collections.unmodifiableList(Arrays.asList(
+                        new RecordHeader(FORMAT_HEADER, format.headerValue()),
+                        new RecordHeader(ENVELOPE_HEADER, compression.headerValue()))));
+            }
+            headers.put(format, byCompression);
+        }
+        return headers;
+    }
+}
@@ -0,0 +1,37 @@
+package com.logix.client.core.kafka;
+
+/**
+ * 按消息键计算分区
+ * <p>
+ * 分区只取决于键与分区数，不同服务、不同进程对同一TraceId得到相同分区，
+ * 一条链路的全部SPAN因此落在同一分区、由服务端同一消费者处理。
+ * 基于{@link String#hashCode()}（规范固定、字符串内缓存）再做一次32位混合，不需要先序列化键。
+ *
+ * @author Kanade
+ * @since 2026/10/18
+ */
+public final class KeyPartitioner {
+
+    private KeyPartitioner() {
+    }
+
+    /**
+     * @param key        消息键，非null
+     * @param partitions 分区数，大于0
+     */
+    public static int partition(String key, int partitions) {
+        return (mix(key.hashCode()) & Integer.MAX_VALUE) % partitions;
+    }
+
+    /**
+     * MurmurHash3 fmix32，打散十六进制ID的低熵位
+     */
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
@@ -0,0 +1,81 @@
+package com.logix.client.core.kafka;
+
+import com.logix.common.config.KafkaSecurityConfig;
+import com.logix.common.constants.LogixConstants;
+import lombok.Builder;
+import lombok.Getter;
+import org.apache.kafka.clients.producer.Producer;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.function.Function;
+
+/**
+ * Kafka生产者创建参数
+ *
+ * @author Kanade
+ * @since 2026/10/18
+ */
+@Getter
+@Builder
+public class ProducerOptions {
+
+    /**
+     * kafka服务器地址
+     */
+    private final String bootstrapServers;
+
+    /**
+     * Kafka 安全认证配置
+     */
+    private final KafkaSecurityConfig securityConfig;
+
+    /**
+     * KafkaProducer实例数，按topic分片
+     */
+    @Builder.Default
+    private final int shards = LogixConstants.Kafka.PRODUCER_SHARDS;
+
+    /**
+     * 确认模式："0"不等待确认，"1"等待leader确认
+     */
+    @Builder.Default
+    private final String acks = LogixConstants.Kafka.ACKS;
+
+    /**
+     * KafkaProducer压缩算法，消息体已压缩时应为"none"
+     */
+    @Builder.Default
+    private final String compressionType = LogixConstants.Kafka.COMPRESSION_TYPE;
+
+    /**
+     * 自定义生产者创建方式，用于基准测试等不连接Kafka的场景；为空时创建KafkaProducer
+     */
+    private final Function<ProducerOptions, Producer<String, byte[]>> producerFactory;
+
+    /**
+     * 决定能否共用同一客户端的参数；认证信息只以摘要参与，键中不出现明文密码
+     */
+    String sharingKey() {
+        return String.join("\u0000", String.valueOf(bootstrapServers), credentialsDigest(),
+                String.valueOf(shards), String.valueOf(acks), String.valueOf(compressionType));
+    }
+
+    private String credentialsDigest() {
+        String username = securityConfig != null ? securityConfig.getUsername() : null;
+        String password = securityConfig != null ? securityConfig.getPassword() : null;
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(
+                    (username + "\u0000" + password).getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // 每个Java平台都必须提供SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -8,7 +8,24 @@ package com.logix.client.core.kafka.exception;
  */
 public class KafkaConnectException extends Exception {
 
+    /**
+     * 异常发生前已交给KafkaProducer的记录数
+     */
+    private final int sent;
+
     public KafkaConnectException(String message, Throwable cause) {
+        this(message, cause, 0);
+    }
+
+    public KafkaConnectException(String message, Throwable cause, int sent) {
         super(message, cause);
+        this.sent = sent;
+    }
+
+    /**
+     * 批量发送时，异常发生前已交给KafkaProducer的记录数，这些记录不应重发
+     */
+    public int getSent() {
+        return sent;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,131 @@
+package com.logix.client.core.logging;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * 定位日志调用方的方法名
+ * <p>
+ * 从当前栈顶向下查找日志框架的Logger类（边界），越过边界及其下方的门面、桥接栈帧后，第一个栈帧即调用方；
+ * 栈中没有边界时（如AsyncAppender的工作线程）返回null，不会把工作线程的栈帧误认为调用方。
+ * JDK 9+ 使用StackWalker惰性遍历，最多检查{@value #MAX_DEPTH}帧，不构造完整堆栈；Java 8 回退为Throwable堆栈。
+ * StackWalker通过反射获取，保持Java 8编译兼容。
+ *
+ * @author Kanade
+ * @since 2026/10/18
+ */
+public final class CallerLocator {
+
+    private static final int MAX_DEPTH = 128;
+
+    private static final Walker WALKER = createWalker();
+
+    private final String loggerClass;
+    private final String[] facadePrefixes;
+
+    /**
+     * @param loggerClass    日志框架Logger的全限定类名，即事件的FQCN，例如 "ch.qos.logback.classic.Logger"
+     * @param facadePrefixes 边界下方需要越过的门面与桥接类名前缀，例如 "org.slf4j.", "java.util.logging."
+     */
+    public CallerLocator(String loggerClass, String... facadePrefixes) {
+        this.loggerClass = loggerClass;
+        this.facadePrefixes = facadePrefixes;
+    }
+
+    /**
+     * 查找调用方方法名，当前线程不在日志调用链中（如异步Appender）时返回null
+     */
+    public String findCallerMethod() {
+        if (WALKER != null) {
+            try {
+                return WALKER.walk(this);
+            } catch (Throwable ignored) {
+                // 回退到Throwable堆栈
+            }
+        }
+        StackTraceElement[] frames = new Throwable().getStackTrace();
+        Matcher matcher = new Matcher();
+        for (int i = 0; i < frames.length && i < MAX_DEPTH; i++) {
+            if (matcher.accept(frames[i].getClassName())) {
+                return frames[i].getMethodName();
+            }
+        }
+        return null;
+    }
+
+    private boolean isFacade(String className) {
+        for (String prefix : facadePrefixes) {
+            if (className.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 栈帧匹配状态：先找到边界栈帧，再越过边界与门面栈帧
+     */
+    private final class Matcher {
+
+        private boolean pastBoundary;
+
+        boolean accept(String className) {
+            if (className.equals(loggerClass)) {
+                pastBoundary = true;
+                return false;
+            }
+            return pastBoundary && !isFacade(className);
+        }
+    }
+
+    private static Walker createWalker() {
+        try {
+            Class<?> walkerClass = Class.forName("java.lang.StackWalker");
+            Class<?> frameClass = Class.forName("java.lang.StackWalker$StackFrame");
+            Object walker = walkerClass.getMethod("getInstance").invoke(null);
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            Method walk = walkerClass.getMethod("walk", Function.class);
+            return new Walker(lookup.unreflect(walk).bindTo(walker),
+                    lookup.unreflect(frameClass.getMethod("getClassName")),
+                    lookup.unreflect(frameClass.getMethod("getMethodName")));
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static final class Walker {
+
+        private final MethodHandle walk;
+        private final MethodHandle getClassName;
+        private final MethodHandle getMethodName;
+
+        Walker(MethodHandle walk, MethodHandle getClassName, MethodHandle getMethodName) {
+            this.walk = walk;
+            this.getClassName = getClassName;
+            this.getMethodName = getMethodName;
+        }
+
+        String walk(CallerLocator locator) throws Throwable {
+            Matcher matcher = locator.new Matcher();
+            Function<Stream<?>, String> function = frames -> {
+                Iterator<?> iterator = frames.limit(MAX_DEPTH).iterator();
+                try {
+                    while (iterator.hasNext()) {
+                        Object frame = iterator.next();
+                        if (matcher.accept((String) getClassName.invoke(frame))) {
+                            return (String) getMethodName.invoke(frame);
+                        }
+                    }
+                    return null;
+                } catch (Throwable e) {
+                    throw new IllegalStateException(e);
+                }
+            };
+            return (String) walk.invoke(function);
+        }
+    }
+}
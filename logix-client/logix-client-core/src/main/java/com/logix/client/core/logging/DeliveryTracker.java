@@ -0,0 +1,106 @@
+package com.logix.client.core.logging;
+
+import com.logix.client.core.circuit.CircuitBreaker;
+import com.logix.client.core.kafka.DeliveryListener;
+import com.logix.client.core.kafka.DeliveryStats;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.logix.common.constants.LogixConstants.Kafka.RUN_TOPIC;
+import static com.logix.common.constants.LogixConstants.Kafka.TRACE_TOPIC;
+
+/**
+ * 分发器自己的投递统计，并把投递结果反馈给断路器用于失败率统计和半开探测
+ * <p>
+ * Kafka客户端按生产者参数在分发器之间共享，统计放在这里才不会混入其他分发器的日志。
+ * 每个批次发送前向断路器申请凭证，通过{@link #listener(long)}取得绑定该凭证的监听器，
+ * 迟到的回调因此只影响它所属的那一代断路器状态。
+ * 断路器按回调次数计，一个信封计一次，与统计的条数口径不同。
+ *
+ * @author Kanade
+ * @since 2026/10/18
+ */
+final class DeliveryTracker {
+
+    private final CircuitBreaker circuitBreaker;
+    private final DeliveryStats runStats = new DeliveryStats(RUN_TOPIC);
+    private final DeliveryStats traceStats = new DeliveryStats(TRACE_TOPIC);
+    private final Map<String, DeliveryStats> deliveryStats;
+
+    DeliveryTracker(CircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+        Map<String, DeliveryStats> stats = new LinkedHashMap<>();
+        stats.put(RUN_TOPIC, runStats);
+        stats.put(TRACE_TOPIC, traceStats);
+        this.deliveryStats = Collections.unmodifiableMap(stats);
+    }
+
+    /**
+     * 绑定断路器放行凭证的监听器，每个批次一个
+     */
+    BatchListener listener(long permit) {
+        return new BatchListener(permit);
+    }
+
+    void recordDropped(String topic, int count) {
+        stats(topic).recordDropped(count);
+    }
+
+    DeliveryStats stats(String topic) {
+        return RUN_TOPIC.equals(topic) ? runStats : traceStats;
+    }
+
+    Map<String, DeliveryStats> getDeliveryStats() {
+        return deliveryStats;
+    }
+
+    long acked() {
+        return runStats.getAcked() + traceStats.getAcked();
+    }
+
+    long inFlight() {
+        return runStats.getInFlight() + traceStats.getInFlight();
+    }
+
+    final class BatchListener implements DeliveryListener {
+
+        private final long permit;
+
+        private BatchListener(long permit) {
+            this.permit = permit;
+        }
+
+        @Override
+        public void onSent(String topic, int records) {
+            stats(topic).recordSent(records);
+        }
+
+        @Override
+        public void onSuccess(String topic, int records, long latencyNanos) {
+            DeliveryStats stats = stats(topic);
+            stats.recordSendLatency(latencyNanos);
+            stats.recordAcked(records);
+            circuitBreaker.recordSuccess(permit);
+        }
+
+        @Override
+        public void onFailure(String topic, int records, long latencyNanos, Exception exception) {
+            DeliveryStats stats = stats(topic);
+            stats.recordSendLatency(latencyNanos);
+            stats.recordFailed(records);
+            circuitBreaker.recordFailure(permit, exception.getMessage());
+        }
+
+        /**
+         * 同步发送异常，records为未能交给KafkaProducer的条数
+         */
+        void onSendError(String topic, int records, Exception exception) {
+            DeliveryStats stats = stats(topic);
+            stats.recordSent(records);
+            stats.recordFailed(records);
+            circuitBreaker.recordFailure(permit, records, exception.getMessage());
+        }
+    }
+}
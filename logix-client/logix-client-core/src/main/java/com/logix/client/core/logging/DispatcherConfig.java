@@ -1,10 +1,15 @@
 package com.logix.client.core.logging;
 
 import com.logix.common.config.KafkaSecurityConfig;
+import com.logix.common.constants.LogixConstants;
+import com.logix.common.enums.EnvelopeCompression;
+import com.logix.common.enums.PayloadFormat;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.util.concurrent.ThreadFactory;
+
 /**
  * 分发器配置
  *
@@ -27,6 +32,12 @@ public class DispatcherConfig {
     @Builder.Default
     private final int queueCapacity = 10000;
 
+    /**
+     * 内存队列实现类型
+     */
+    @Builder.Default
+    private final QueueType queueType = QueueType.LINKED;
+
     /**
      * 批量大小
      */
@@ -40,17 +51,109 @@ public class DispatcherConfig {
     private final long batchTimeout = 500;
 
     /**
-     * 线程数量
+     * 每个通道的分发线程数量
      */
     @Builder.Default
     private final int workerCount = 1;
 
     /**
-     * 熔断器超时时间（秒）
+     * 分发线程工厂，可用于绑定CPU核心或设置优先级；为空时创建名为logix-run/trace-worker-N的守护线程
+     */
+    private final ThreadFactory workerThreadFactory;
+
+    /**
+     * 单个批次发送超过该时长（毫秒）视为分发线程卡住
+     */
+    @Builder.Default
+    private final long stallTimeout = 30000;
+
+    /**
+     * 熔断最长静默时间（秒），即断路器指数退避的上限
      */
     @Builder.Default
     private final long quietPeriod = 30;
 
+    /**
+     * 消息体编码格式，默认JSON以兼容未升级的服务端
+     */
+    @Builder.Default
+    private final PayloadFormat payloadFormat = PayloadFormat.JSON;
+
+    /**
+     * 是否把每个批次打包为一条信封消息发送，需服务端已支持信封
+     */
+    @Builder.Default
+    private final boolean envelope = false;
+
+    /**
+     * 信封压缩算法；压缩时关闭KafkaProducer自身的压缩，避免重复压缩
+     */
+    @Builder.Default
+    private final EnvelopeCompression envelopeCompression = EnvelopeCompression.NONE;
+
+    /**
+     * 链路日志是否按TraceId分区，使一条链路的SPAN由服务端同一消费者处理
+     */
+    @Builder.Default
+    private final boolean partitionTraceById = true;
+
+    /**
+     * 运行日志的分区键，如应用名@主机；为空时按粘性分区，批量效率最高
+     */
+    private final String runPartitionKey;
+
+    /**
+     * KafkaProducer实例数，按topic分片；生产者参数相同的分发器共用同一组实例
+     */
+    @Builder.Default
+    private final int producerShards = 1;
+
+    /**
+     * 确认模式："0"不等待确认（默认），"1"等待leader确认以获得真实的投递结果
+     */
+    @Builder.Default
+    private final String acks = LogixConstants.Kafka.ACKS;
+
+    /**
+     * 指标名称，通常为应用名，用于JMX与Micrometer标签
+     */
+    private final String metricsName;
+
+    /**
+     * 是否把指标导出到JMX
+     */
+    @Builder.Default
+    private final boolean jmxEnabled = true;
+
+    /**
+     * 关闭时发送剩余日志并等待Kafka确认的最长时间（毫秒），超时后剩余日志放弃
+     */
+    @Builder.Default
+    private final long shutdownTimeout = 5000;
+
+    /**
+     * 是否注册JVM关闭钩子，进程退出时未显式关闭的分发器也能发送剩余日志
+     */
+    @Builder.Default
+    private final boolean shutdownHook = true;
+
+    /**
+     * 磁盘溢写目录，队列已满或Kafka不可用时日志写入该目录，恢复后回放；为空则不启用
+     */
+    private final String spillDirectory;
+
+    /**
+     * 溢写段文件大小（字节）
+     */
+    @Builder.Default
+    private final int spillSegmentSize = 16 * 1024 * 1024;
+
+    /**
+     * 溢写文件总大小上限（字节），超出后淘汰最旧的段
+     */
+    @Builder.Default
+    private final long spillMaxSize = 256L * 1024 * 1024;
+
     /**
      * Kafka 安全认证配置
      */
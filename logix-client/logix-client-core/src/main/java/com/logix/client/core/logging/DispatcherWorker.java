@@ -0,0 +1,70 @@
+package com.logix.client.core.logging;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 分发线程，独占一个线程循环消费通道，记录发送耗时用于健康检查
+ *
+ * @author Kanade
+ * @since 2026/10/18
+ */
+final class DispatcherWorker implements Runnable {
+
+    private final LogQueueChannel<PendingLog> channel;
+    private final LogQueueChannel.Consumer<PendingLog> sender;
+    private Thread thread;
+
+    /**
+     * 当前批次开始发送的时间，空闲时为0
+     */
+    private volatile long busySinceNanos;
+
+    /**
+     * 仅由工作线程自身递增
+     */
+    private volatile long batches;
+
+    DispatcherWorker(LogQueueChannel<PendingLog> channel, LogQueueChannel.Consumer<PendingLog> sender) {
+        this.channel = channel;
+        this.sender = sender;
+    }
+
+    void attach(Thread thread) {
+        this.thread = thread;
+    }
+
+    @Override
+    public void run() {
+        channel.consume(payload -> {
+            busySinceNanos = System.nanoTime();
+            try {
+                sender.accept(payload);
+            } finally {
+                busySinceNanos = 0;
+                batches++;
+            }
+        });
+    }
+
+    /**
+     * 等待线程退出，最多等待millis毫秒
+     *
+     * @return 线程是否已退出
+     */
+    boolean join(long millis) {
+        try {
+            thread.join(Math.max(1L, millis));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return !thread.isAlive();
+    }
+
+    WorkerHealth health(long stallNanos) {
+        long busySince = busySinceNanos;
+        long busyNanos = busySince == 0 ? 0 : System.nanoTime() - busySince;
+        boolean alive = thread.isAlive();
+        return new WorkerHealth(thread.getName(), alive, TimeUnit.NANOSECONDS.toMillis(busyNanos), batches,
+                !alive || busyNanos > stallNanos);
+    }
+}
@@ -0,0 +1,238 @@
+package com.logix.client.core.logging;
+
+import com.logix.common.model.BaseLogEvent;
+import com.logix.common.model.RunLogEvent;
+import com.logix.common.model.TraceLogEvent;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * 日志事件JSON流式写入器
+ * <p>
+ * 直接把事件字段与扩展属性（MDC）写入复用的字节缓冲区，输出与
+ * {@code JsonUtils.toJson(map)} 一致：忽略null字段，扩展属性与事件字段同名时以扩展属性为准。
+ * 除最终结果数组外不产生中间对象。非线程安全，建议每个线程持有一个实例；缓冲区扩容过大时会在写完后缩回。
+ *
+ * @author Kanade
+ * @since 2026/10/18
+ */
+public final class JsonEventWriter {
+
+    private static final int INITIAL_CAPACITY = 512;
+
+    /**
+     * 实例由ThreadLocal长期持有，缓冲区因大事件（如长堆栈）扩容超过该值后，写完即还原为初始大小
+     */
+    private static final int MAX_RETAINED_CAPACITY = 16 * 1024;
+    private static final byte[] HEX = "0123456789abcdef".getBytes();
+    private static final byte[] LONG_MIN = Long.toString(Long.MIN_VALUE).getBytes();
+
+    private byte[] buf = new byte[INITIAL_CAPACITY];
+    private int pos;
+    private boolean first;
+    private Map<String, String> attributes;
+
+    /**
+     * 序列化事件及扩展属性
+     *
+     * @param event      日志事件
+     * @param attributes 扩展属性，可为null
+     */
+    public byte[] write(BaseLogEvent event, Map<String, String> attributes) {
+        this.pos = 0;
+        this.first = true;
+        this.attributes = attributes != null && !attributes.isEmpty() ? attributes : null;
+        try {
+            writeByte('{');
+            writeLongField("eventTime", event.getEventTime());
+            writeStringField("appName", event.getAppName());
+            writeStringField("env", event.getEnv());
+            writeStringField("serverIp", event.getServerIp());
+            writeStringField("methodName", event.getMethodName());
+            writeStringField("traceId", event.getTraceId());
+
+            if (event instanceof RunLogEvent) {
+                RunLogEvent run = (RunLogEvent) event;
+                writeLongField("seq", run.getSeq());
+                writeStringField("logLevel", run.getLogLevel() != null ? run.getLogLevel().name() : null);
+                writeStringField("content", run.getContent());
+                writeStringField("className", run.getClassName());
+                writeStringField("threadName", run.getThreadName());
+                writeStringField("stackFingerprint", run.getStackFingerprint());
+                writeStringField("stackTrace", run.getStackTrace());
+            } else if (event instanceof TraceLogEvent) {
+                TraceLogEvent trace = (TraceLogEvent) event;
+                writeStringField("position", trace.getPosition());
+                writeLongField("depth", trace.getDepth() != null ? trace.getDepth().longValue() : null);
+                writeLongField("duration", trace.getDuration());
+                writeStringField("spanId", trace.getSpanId());
+                writeStringField("parentSpanId", trace.getParentSpanId());
+            }
+            writeStringField("logType", event.getLogType().name());
+
+            if (this.attributes != null) {
+                for (Map.Entry<String, String> entry : this.attributes.entrySet()) {
+                    if (entry.getKey() != null && entry.getValue() != null) {
+                        writeName(entry.getKey());
+                        writeString(entry.getValue());
+                    }
+                }
+            }
+            writeByte('}');
+            return Arrays.copyOf(buf, pos);
+        } finally {
+            this.attributes = null;
+            if (buf.length > MAX_RETAINED_CAPACITY) {
+                buf = new byte[INITIAL_CAPACITY];
+            }
+        }
+    }
+
+    private void writeStringField(String name, String value) {
+        if (value == null || overridden(name)) {
+            return;
+        }
+        writeName(name);
+        writeString(value);
+    }
+
+    private void writeLongField(String name, Long value) {
+        if (value == null || overridden(name)) {
+            return;
+        }
+        writeName(name);
+        writeLong(value);
+    }
+
+    private boolean overridden(String name) {
+        return attributes != null && attributes.get(name) != null;
+    }
+
+    private void writeName(String name) {
+        if (!first) {
+            writeByte(',');
+        }
+        first = false;
+        writeString(name);
+        writeByte(':');
+    }
+
+    private void writeString(String value) {
+        int length = value.length();
+        ensureCapacity(length + 2);
+        buf[pos++] = '"';
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                writeAscii(c);
+            } else {
+                writeUtf8(value, c, i);
+                if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    i++;
+                }
+            }
+        }
+        writeByte('"');
+    }
+
+    private void writeAscii(char c) {
+        switch (c) {
+            case '"':
+                writeEscaped('"');
+                return;
+            case '\\':
+                writeEscaped('\\');
+                return;
+            case '\n':
+                writeEscaped('n');
+                return;
+            case '\r':
+                writeEscaped('r');
+                return;
+            case '\t':
+                writeEscaped('t');
+                return;
+            case '\b':
+                writeEscaped('b');
+                return;
+            case '\f':
+                writeEscaped('f');
+                return;
+            default:
+                if (c < 0x20) {
+                    ensureCapacity(6);
+                    buf[pos++] = '\\';
+                    buf[pos++] = 'u';
+                    buf[pos++] = '0';
+                    buf[pos++] = '0';
+                    buf[pos++] = HEX[c >> 4];
+                    buf[pos++] = HEX[c & 0xF];
+                } else {
+                    writeByte(c);
+                }
+        }
+    }
+
+    private void writeUtf8(String value, char c, int index) {
+        ensureCapacity(4);
+        if (c < 0x800) {
+            buf[pos++] = (byte) (0xC0 | (c >> 6));
+            buf[pos++] = (byte) (0x80 | (c & 0x3F));
+        } else if (Character.isHighSurrogate(c) && index + 1 < value.length()
+                && Character.isLowSurrogate(value.charAt(index + 1))) {
+            int cp = Character.toCodePoint(c, value.charAt(index + 1));
+            buf[pos++] = (byte) (0xF0 | (cp >> 18));
+            buf[pos++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+            buf[pos++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+            buf[pos++] = (byte) (0x80 | (cp & 0x3F));
+        } else if (Character.isSurrogate(c)) {
+            buf[pos++] = '?';
+        } else {
+            buf[pos++] = (byte) (0xE0 | (c >> 12));
+            buf[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+            buf[pos++] = (byte) (0x80 | (c & 0x3F));
+        }
+    }
+
+    private void writeEscaped(char c) {
+        ensureCapacity(2);
+        buf[pos++] = '\\';
+        buf[pos++] = (byte) c;
+    }
+
+    private void writeLong(long value) {
+        if (value == Long.MIN_VALUE) {
+            ensureCapacity(LONG_MIN.length);
+            System.arraycopy(LONG_MIN, 0, buf, pos, LONG_MIN.length);
+            pos += LONG_MIN.length;
+            return;
+        }
+        ensureCapacity(20);
+        if (value < 0) {
+            buf[pos++] = '-';
+            value = -value;
+        }
+        int digits = 1;
+        for (long v = value; v >= 10; v /= 10) {
+            digits++;
+        }
+        int end = pos + digits;
+        for (int i = end - 1; i >= pos; i--) {
+            buf[i] = (byte) ('0' + (value % 10));
+            value /= 10;
+        }
+        pos = end;
+    }
+
+    private void writeByte(int b) {
+        ensureCapacity(1);
+        buf[pos++] = (byte) b;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (pos + extra > buf.length) {
+            buf = Arrays.copyOf(buf, Math.max(buf.length << 1, pos + extra));
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.logix.client.core.logging;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * 基于LinkedBlockingQueue的缓冲区
+ * <p>
+ * 直接存放元素，写入时不额外分配对象；只有使队列由空变为非空的写入才读取时钟，作为下一批次首条的入队时间。
+ * 队列始终有积压、或该写入与消费端竞争而未能记录时，以取出时间代替，批次超时与延迟统计会略微偏晚。
+ *
+ * @author Kanade
+ * @since 2026/10/18
+ */
+final class LinkedLogBuffer<E> implements LogBuffer<E> {
+
+    private final BlockingQueue<E> queue;
+    private final int capacity;
+
+    /**
+     * 最近一次队列由空变为非空时的入队时间
+     */
+    private volatile long headEnqueueNanos;
+
+    /**
+     * 消费端上次取用的headEnqueueNanos，用于识别其是否已更新，仅由持有消费权的线程访问
+     */
+    private long consumedHeadNanos;
+
+    /**
+     * 消费端复用的中转列表，仅由持有消费权的线程访问
+     */
+    private final List<E> scratch = new ArrayList<>();
+
+    LinkedLogBuffer(int capacity) {
+        this.capacity = capacity;
+        this.queue = new LinkedBlockingQueue<>(capacity);
+    }
+
+    @Override
+    public boolean offer(E element) {
+        if (!queue.offer(element)) {
+            return false;
+        }
+        if (queue.size() == 1) {
+            headEnqueueNanos = System.nanoTime();
+        }
+        return true;
+    }
+
+    @Override
+    public int drainTo(LogBatch<E> batch, int maxElements) {
+        scratch.clear();
+        int drained = queue.drainTo(scratch, maxElements);
+        if (drained > 0) {
+            long head = headEnqueueNanos;
+            long enqueueNanos = head != consumedHeadNanos ? head : System.nanoTime();
+            consumedHeadNanos = head;
+            for (int i = 0; i < drained; i++) {
+                batch.add(scratch.get(i), enqueueNanos);
+            }
+        }
+        scratch.clear();
+        return drained;
+    }
+
+    @Override
+    public int size() {
+        return queue.size();
+    }
+
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+}
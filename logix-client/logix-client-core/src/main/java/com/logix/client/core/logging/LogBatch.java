@@ -0,0 +1,59 @@
+package com.logix.client.core.logging;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 可复用的批次容器，只记录首条日志的入队时间，用于批次超时与排队延迟统计
+ *
+ * @author Kanade
+ * @since 2026/10/18
+ */
+final class LogBatch<E> {
+
+    private final List<E> items;
+    private final int maxBatch;
+    private long firstEnqueueNanos;
+
+    LogBatch(int maxBatch) {
+        this.items = new ArrayList<>(maxBatch);
+        this.maxBatch = maxBatch;
+    }
+
+    /**
+     * @param enqueueTime 入队时间，只有批次中的首条会被记录
+     */
+    void add(E item, long enqueueTime) {
+        if (items.isEmpty()) {
+            firstEnqueueNanos = enqueueTime;
+        }
+        items.add(item);
+    }
+
+    List<E> items() {
+        return items;
+    }
+
+    /**
+     * 批次中最早一条日志的入队时间
+     */
+    long firstEnqueueNanos() {
+        return firstEnqueueNanos;
+    }
+
+    int size() {
+        return items.size();
+    }
+
+    int remaining() {
+        return maxBatch - items.size();
+    }
+
+    boolean isEmpty() {
+        return items.isEmpty();
+    }
+
+    void clear() {
+        items.clear();
+    }
+}
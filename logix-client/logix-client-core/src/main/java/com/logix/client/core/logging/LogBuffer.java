@@ -0,0 +1,40 @@
+package com.logix.client.core.logging;
+
+/**
+ * 日志通道底层缓冲区
+ * 多生产者写入，消费端由通道保证同一时刻只有一个线程读取
+ *
+ * @author Kanade
+ * @since 2026/10/18
+ */
+interface LogBuffer<E> {
+
+    /**
+     * 非阻塞写入，缓冲区已满时返回false
+     */
+    boolean offer(E element);
+
+    /**
+     * 批量取出元素，并提供入队时间供批次记录首条的入队时间
+     *
+     * @return 实际取出的数量
+     */
+    int drainTo(LogBatch<E> batch, int maxElements);
+
+    /**
+     * 当前缓冲的元素数量（近似值）
+     */
+    int size();
+
+    /**
+     * 缓冲区容量
+     */
+    int capacity();
+
+    static <E> LogBuffer<E> create(QueueType type, int capacity) {
+        if (type == QueueType.RING) {
+            return new RingLogBuffer<>(capacity);
+        }
+        return new LinkedLogBuffer<>(capacity);
+    }
+}
@@ -2,6 +2,7 @@ package com.logix.client.core.logging;
 
 import com.logix.client.core.trace.TraceContext;
 import com.logix.client.core.trace.TraceMessage;
+import com.logix.common.constants.LogixConstants;
 import com.logix.common.util.NetworkUtils;
 import com.logix.common.model.RunLogEvent;
 import com.logix.common.model.TraceLogEvent;
@@ -31,17 +32,50 @@ public class LogEventBuilder {
         return traceLogEvent;
     }
 
+    /**
+     * 创建完整调用的链路事件，开始与结束合并为一条
+     *
+     * @param parentSpanId 父调用ID，根调用为null
+     * @param startTime    方法开始时间
+     * @param duration     耗时（毫秒）
+     */
+    public static TraceLogEvent createTraceSpan(String appName, String env, String traceId, String spanId,
+                                                String parentSpanId, String signature, int depth,
+                                                long startTime, long duration) {
+        TraceLogEvent traceLogEvent = new TraceLogEvent();
+        traceLogEvent.setPosition(LogixConstants.Trace.SPAN);
+        traceLogEvent.setDepth(depth);
+        traceLogEvent.setDuration(duration);
+        traceLogEvent.setSpanId(spanId);
+        traceLogEvent.setParentSpanId(parentSpanId);
+        traceLogEvent.setEventTime(startTime);
+        traceLogEvent.setAppName(appName);
+        traceLogEvent.setEnv(env);
+        traceLogEvent.setServerIp(NetworkUtils.getLocalIP());
+        traceLogEvent.setMethodName(signature);
+        traceLogEvent.setTraceId(traceId);
+
+        return traceLogEvent;
+    }
+
     /**
      * 创建运行日志事件
      */
     public static RunLogEvent createRunLog(String appName, String env, String message, long time) {
+        return createRunLog(appName, env, message, time, TraceContext.currentTraceID.get());
+    }
+
+    /**
+     * 创建运行日志事件，traceId由调用方在业务线程中提前获取
+     */
+    public static RunLogEvent createRunLog(String appName, String env, String message, long time, String traceId) {
         RunLogEvent runLogEvent = new RunLogEvent();
         runLogEvent.setContent(message);
         runLogEvent.setEventTime(time);
         runLogEvent.setAppName(appName);
         runLogEvent.setEnv(env);
         runLogEvent.setServerIp(NetworkUtils.getLocalIP());
-        runLogEvent.setTraceId(TraceContext.currentTraceID.get());
+        runLogEvent.setTraceId(traceId);
 
         return runLogEvent;
     }
@@ -1,21 +1,62 @@
 package com.logix.client.core.logging;
 
 import com.logix.client.core.circuit.CircuitBreaker;
+import com.logix.client.core.circuit.CircuitBreakerConfig;
+import com.logix.client.core.circuit.CircuitState;
+import com.logix.client.core.circuit.CircuitStateListener;
+import com.logix.client.core.kafka.DeliveryStats;
 import com.logix.client.core.kafka.KafkaProducerClient;
-import com.logix.common.config.KafkaSecurityConfig;
+import com.logix.client.core.kafka.ProducerOptions;
+import com.logix.client.core.kafka.exception.KafkaConnectException;
+import com.logix.client.core.metrics.DispatcherMetrics;
+import com.logix.client.core.metrics.DropReason;
+import com.logix.client.core.metrics.Histogram;
+import com.logix.client.core.metrics.LogixMetrics;
+import com.logix.client.core.spill.SpillStore;
+import com.logix.common.codec.LogEnvelope;
+import com.logix.common.constants.LogixConstants;
+import com.logix.common.enums.EnvelopeCompression;
+import com.logix.common.enums.LogLevel;
 import com.logix.common.enums.LogType;
+import com.logix.common.enums.PayloadFormat;
 import com.logix.common.util.ThreadPoolUtils;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.File;
+import java.io.IOException;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.concurrent.ThreadPoolExecutor;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 import static com.logix.common.constants.LogixConstants.Kafka.RUN_TOPIC;
 import static com.logix.common.constants.LogixConstants.Kafka.TRACE_TOPIC;
 
 /**
  * 日志异步分发器，负责调度运行日志与链路日志的缓冲和投递
+ * <p>
+ * 运行日志按级别设置准入水位：队列占用超过50%后丢弃TRACE/DEBUG，超过80%后丢弃INFO，
+ * 超过95%后丢弃WARN，ERROR可用满整个队列，保证故障期间最重要的日志最后被丢弃。
+ * <p>
+ * 开启信封时每个批次按{@link LogixConstants.Kafka#ENVELOPE_MAX_BYTES}切分为少量信封消息发送；
+ * 溢写与回放仍按单条日志进行。
+ * <p>
+ * 队列已满被拒绝的WARN/ERROR运行日志与链路日志先放入有界的溢写中转通道，由溢写线程编码并写盘，
+ * 业务线程不做编码和文件I/O，也不与回放线程争用溢写存储的锁；中转通道也满时直接丢弃。
+ * <p>
+ * 链路日志默认以TraceId为分区键，信封按分区分组打包，一条链路始终落在同一分区；
+ * 运行日志默认不带键，由KafkaProducer粘性分区。溢写回放的日志不带键。
+ * <p>
+ * 关闭时不再接收日志，由关闭线程分大批次发送队列中剩余的日志，再等待KafkaProducer发送完成，
+ * 全程不超过shutdownTimeout；默认注册JVM关闭钩子，进程退出时同样执行。
  *
  * @author Kanade
  * @since 2025/10/22
@@ -23,59 +64,581 @@ import static com.logix.common.constants.LogixConstants.Kafka.TRACE_TOPIC;
 @Slf4j
 public final class LogEventDispatcher implements AutoCloseable {
 
-    private static final ThreadPoolExecutor threadPoolExecutor = ThreadPoolUtils.createDefaultExecutor();
+    private static final long SPILL_REPLAY_INTERVAL_MS = 1000;
+
+    /**
+     * 溢写中转通道容量，只需承接队列满时的突发，写盘跟不上时多出的日志直接丢弃
+     */
+    private static final int SPILL_HANDOFF_CAPACITY = 1024;
+
+    /**
+     * 关闭时每批发送的日志条数，大于常规批次以尽快清空队列
+     */
+    private static final int SHUTDOWN_BATCH_SIZE = 2000;
+
+    /**
+     * 各级别可占用的队列比例，按LogLevel顺序
+     */
+    private static final double[] ADMIT_RATIOS = {0.5, 0.5, 0.8, 0.95, 1.0};
 
     private final KafkaProducerClient client;
-    private final LogQueueChannel runChannel;
-    private final LogQueueChannel traceChannel;
+    private final LogQueueChannel<PendingLog> runChannel;
+    private final LogQueueChannel<PendingLog> traceChannel;
+    private final LogQueueChannel<PendingLog> runSpillHandoff;
+    private final LogQueueChannel<PendingLog> traceSpillHandoff;
     private final int workerCount;
+    private final ThreadFactory workerThreadFactory;
+    private final long stallTimeoutNanos;
+    private final List<DispatcherWorker> workers = new ArrayList<>();
+    private final PayloadFormat payloadFormat;
+    private final EnvelopeCompression envelopeCompression;
+    private final boolean partitionTraceById;
+    private final String runPartitionKey;
     private final CircuitBreaker circuitBreaker;
+    private final DeliveryTracker deliveryTracker;
+    private final SpillStore spillStore;
+    private final ScheduledExecutorService spillReplayExecutor;
+    private final int[] runAdmitLimits;
+    private final AtomicLongArray shedCounts = new AtomicLongArray(LogLevel.values().length);
+    private final DispatcherMetrics metrics;
+    private final long shutdownTimeoutNanos;
+    private final Thread shutdownHook;
+    private volatile boolean closed;
+    private ShutdownReport shutdownReport;
 
     public LogEventDispatcher(DispatcherConfig config) {
-        this.circuitBreaker = new CircuitBreaker(Duration.ofSeconds(config.getQuietPeriod()));
-        this.client = KafkaProducerClient.getInstance(config.getBootstrapServers(), config.getSecurityConfig());
-        this.workerCount = config.getWorkerCount();
-        this.runChannel = new LogQueueChannel(LogType.RUN.name(), config.getQueueCapacity(), config.getBatchSize(), config.getBatchTimeout());
-        this.traceChannel = new LogQueueChannel(LogType.TRACE.name(), config.getQueueCapacity(), config.getBatchSize(), config.getBatchTimeout());
+        this.circuitBreaker = new CircuitBreaker(CircuitBreakerConfig.builder()
+                .maxBackoff(Duration.ofSeconds(config.getQuietPeriod()))
+                .build());
+        this.deliveryTracker = new DeliveryTracker(circuitBreaker);
+        this.client = KafkaProducerClient.getInstance(ProducerOptions.builder()
+                .bootstrapServers(config.getBootstrapServers())
+                .securityConfig(config.getSecurityConfig())
+                .shards(config.getProducerShards())
+                .acks(config.getAcks())
+                .compressionType(compressionType(config))
+                .build());
+        this.workerCount = Math.max(1, config.getWorkerCount());
+        this.workerThreadFactory = config.getWorkerThreadFactory();
+        this.stallTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(config.getStallTimeout());
+        this.shutdownTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0L, config.getShutdownTimeout()));
+        this.payloadFormat = config.getPayloadFormat();
+        this.envelopeCompression = config.isEnvelope() ? config.getEnvelopeCompression() : null;
+        this.partitionTraceById = config.isPartitionTraceById();
+        this.runPartitionKey = config.getRunPartitionKey();
+        this.runChannel = new LogQueueChannel<>(LogType.RUN.name(), config.getQueueType(),
+                config.getQueueCapacity(), config.getBatchSize(), config.getBatchTimeout());
+        this.traceChannel = new LogQueueChannel<>(LogType.TRACE.name(), config.getQueueType(),
+                config.getQueueCapacity(), config.getBatchSize(), config.getBatchTimeout());
+        this.runAdmitLimits = admitLimits(runChannel.capacity());
+        if (partitionTraceById) {
+            client.prefetchPartitions(TRACE_TOPIC);
+        }
+        if (runPartitionKey != null) {
+            client.prefetchPartitions(RUN_TOPIC);
+        }
+        this.spillStore = openSpillStore(config);
+        this.spillReplayExecutor = spillStore != null ? startSpillReplay(config.getBatchSize()) : null;
+        this.runSpillHandoff = spillStore != null ? spillHandoff(LogType.RUN, config) : null;
+        this.traceSpillHandoff = spillStore != null ? spillHandoff(LogType.TRACE, config) : null;
+        this.metrics = new DispatcherMetrics(config.getMetricsName(), runChannel.metrics(), traceChannel.metrics(),
+                deliveryTracker.stats(RUN_TOPIC), deliveryTracker.stats(TRACE_TOPIC), circuitBreaker::getState);
+        LogixMetrics.register(metrics, config.isJmxEnabled());
         this.startWorkers();
+        this.shutdownHook = config.isShutdownHook() ? registerShutdownHook() : null;
+    }
+
+    public void publishRunLog(LogLevel level, byte[] logEvent) {
+        publishRunLog(level, PendingLog.encoded(logEvent));
+    }
+
+    /**
+     * 投递运行日志，队列压力大时按级别从低到高丢弃
+     *
+     * @param level 日志级别，为null时按INFO处理
+     */
+    public void publishRunLog(LogLevel level, PendingLog logEvent) {
+        if (closed) {
+            recordDropped(RUN_TOPIC, DropReason.SHUTDOWN, 1);
+            return;
+        }
+        LogLevel priority = level != null ? level : LogLevel.INFO;
+        if (runChannel.publish(logEvent, runAdmitLimits[priority.ordinal()])) {
+            return;
+        }
+        // 溢写空间只留给WARN/ERROR，避免低级别日志挤占并淘汰重要日志
+        if (priority.getCode() >= LogLevel.WARN.getCode() && handOffToSpill(runSpillHandoff, logEvent)) {
+            return;
+        }
+        shedCounts.incrementAndGet(priority.ordinal());
+        recordDropped(RUN_TOPIC, DropReason.QUEUE_FULL, 1);
+    }
+
+    public void publishTraceLog(byte[] logEvent) {
+        publishTraceLog(PendingLog.encoded(logEvent));
     }
 
-    public void publishRunLog(String logEvent) {
-        runChannel.publish(logEvent);
+    public void publishTraceLog(PendingLog logEvent) {
+        if (closed) {
+            recordDropped(TRACE_TOPIC, DropReason.SHUTDOWN, 1);
+            return;
+        }
+        if (!traceChannel.publish(logEvent) && !handOffToSpill(traceSpillHandoff, logEvent)) {
+            recordDropped(TRACE_TOPIC, DropReason.QUEUE_FULL, 1);
+        }
     }
 
-    public void publishTraceLog(String logEvent) {
-        traceChannel.publish(logEvent);
+    /**
+     * 本分发器各topic的投递统计：发送、确认、失败与丢弃数
+     */
+    public Map<String, DeliveryStats> getDeliveryStats() {
+        return deliveryTracker.getDeliveryStats();
     }
 
+    /**
+     * 各级别运行日志因队列压力被丢弃的条数
+     */
+    public Map<LogLevel, Long> getShedCounts() {
+        Map<LogLevel, Long> counts = new EnumMap<>(LogLevel.class);
+        for (LogLevel level : LogLevel.values()) {
+            counts.put(level, shedCounts.get(level.ordinal()));
+        }
+        return counts;
+    }
+
+    /**
+     * 运行日志批次首条从入队到发送的延迟分布（纳秒），可据此调整batchTimeout
+     */
+    public Histogram.Snapshot getRunLatency() {
+        return runChannel.metrics().getQueueLatency();
+    }
+
+    /**
+     * 链路日志批次首条从入队到发送的延迟分布（纳秒）
+     */
+    public Histogram.Snapshot getTraceLatency() {
+        return traceChannel.metrics().getQueueLatency();
+    }
+
+    /**
+     * 全部指标：入队、按原因丢弃、队列深度、批次大小、排队与发送延迟、断路器状态
+     */
+    public DispatcherMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * 磁盘溢写存储，未配置spillDirectory时为null
+     */
+    public SpillStore getSpillStore() {
+        return spillStore;
+    }
+
+    /**
+     * 断路器当前状态
+     */
+    public CircuitState getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    /**
+     * 订阅断路器状态变更
+     */
+    public void addCircuitStateListener(CircuitStateListener listener) {
+        circuitBreaker.addListener(listener);
+    }
+
+    /**
+     * 各分发线程的健康状态
+     */
+    public List<WorkerHealth> getWorkerHealth() {
+        List<WorkerHealth> health = new ArrayList<>(workers.size());
+        for (DispatcherWorker worker : workers) {
+            health.add(worker.health(stallTimeoutNanos));
+        }
+        return Collections.unmodifiableList(health);
+    }
+
+    /**
+     * 所有分发线程均存活且没有卡在发送中
+     */
+    public boolean isHealthy() {
+        for (DispatcherWorker worker : workers) {
+            if (worker.health(stallTimeoutNanos).isStalled()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 每个通道独占workerCount个线程，不与其他分发器共享线程池
+     */
     private void startWorkers() {
         for (int i = 0; i < workerCount; i++) {
-            threadPoolExecutor.execute(() -> runChannel.consume(payload -> sendBatch(RUN_TOPIC, payload)));
+            startWorker("logix-run-worker-" + i, runChannel, payload -> sendBatch(RUN_TOPIC, payload));
         }
-
         for (int i = 0; i < workerCount; i++) {
-            threadPoolExecutor.execute(() -> traceChannel.consume(payload -> sendBatch(TRACE_TOPIC, payload)));
+            startWorker("logix-trace-worker-" + i, traceChannel, payload -> sendBatch(TRACE_TOPIC, payload));
+        }
+        if (runSpillHandoff != null) {
+            startWorker("logix-run-spill", runSpillHandoff, payload -> spillRejected(RUN_TOPIC, payload));
+            startWorker("logix-trace-spill", traceSpillHandoff, payload -> spillRejected(TRACE_TOPIC, payload));
         }
     }
 
-    private void sendBatch(String topic, List<String> payload) {
+    private void startWorker(String name, LogQueueChannel<PendingLog> channel, LogQueueChannel.Consumer<PendingLog> sender) {
+        DispatcherWorker worker = new DispatcherWorker(channel, sender);
+        Thread thread;
+        if (workerThreadFactory != null) {
+            // 自定义工厂可在此绑定CPU核心等，线程属性由工厂决定
+            thread = workerThreadFactory.newThread(worker);
+        } else {
+            thread = new Thread(worker, name);
+            thread.setDaemon(true);
+        }
+        worker.attach(thread);
+        workers.add(worker);
+        thread.start();
+    }
+
+    /**
+     * 消息体编码格式，投递已编码的byte[]时调用方需按此格式编码
+     */
+    public PayloadFormat getPayloadFormat() {
+        return payloadFormat;
+    }
+
+    private void sendBatch(String topic, List<PendingLog> batch) {
+        StackTraceDeduplicator.Marks marks = StackTraceDeduplicator.Marks.begin();
+        try {
+            encodeAndSend(topic, batch);
+        } finally {
+            marks.end();
+        }
+    }
+
+    private void encodeAndSend(String topic, List<PendingLog> batch) {
+        List<String> keys = keyed(topic) ? new ArrayList<>(batch.size()) : null;
+        List<byte[]> payload = encode(topic, batch, keys);
         if (payload.isEmpty()) {
             return;
         }
-        if (circuitBreaker.isBlocked()) {
+        long permit = circuitBreaker.tryAcquire();
+        if (permit == CircuitBreaker.DENIED) {
+            spillOrDrop(topic, payload, DropReason.CIRCUIT_OPEN);
             return;
         }
 
+        DeliveryTracker.BatchListener listener = deliveryTracker.listener(permit);
         try {
-            client.putMessageList(topic, payload);
+            if (envelopeCompression == null) {
+                client.putMessageList(topic, payload, keys, payloadFormat, listener);
+            } else if (keys == null) {
+                sendEnvelopes(topic, null, payload, listener);
+            } else {
+                sendPartitionedEnvelopes(topic, payload, keys, listener);
+            }
         } catch (Exception e) {
-            circuitBreaker.recordFailure(e.getMessage());
+            // 已交给KafkaProducer的记录由投递回调计数，只溢写其后未发送的部分，避免回放时重复
+            int sent = e instanceof KafkaConnectException ? ((KafkaConnectException) e).getSent() : 0;
+            List<byte[]> unsent = payload.subList(Math.min(sent, payload.size()), payload.size());
+            listener.onSendError(topic, unsent.size(), e);
+            spillOrDrop(topic, unsent, DropReason.SEND_ERROR);
+        }
+    }
+
+    private boolean keyed(String topic) {
+        return RUN_TOPIC.equals(topic) ? runPartitionKey != null : partitionTraceById;
+    }
+
+    /**
+     * 按分区分组后各自打包，保证同一键的日志进入同一分区
+     */
+    private void sendPartitionedEnvelopes(String topic, List<byte[]> payload, List<String> keys,
+                                          DeliveryTracker.BatchListener listener) {
+        Map<Integer, List<byte[]>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < payload.size(); i++) {
+            String key = keys.get(i);
+            Integer partition = key != null ? client.partitionFor(topic, key) : null;
+            groups.computeIfAbsent(partition, p -> new ArrayList<>()).add(payload.get(i));
+        }
+        boolean failed = false;
+        for (Map.Entry<Integer, List<byte[]>> group : groups.entrySet()) {
+            if (failed) {
+                spillOrDrop(topic, group.getValue(), DropReason.SEND_ERROR);
+            } else {
+                failed = !sendEnvelopes(topic, group.getKey(), group.getValue(), listener);
+            }
+        }
+    }
+
+    /**
+     * 按大小切分为信封发送，某个信封失败时溢写其后尚未发送的日志
+     *
+     * @param partition 目标分区，为null时粘性分区
+     * @return 是否全部发送成功
+     */
+    private boolean sendEnvelopes(String topic, Integer partition, List<byte[]> payload,
+                                  DeliveryTracker.BatchListener listener) {
+        int from = 0;
+        while (from < payload.size()) {
+            int to = envelopeEnd(payload, from);
+            try {
+                client.putEnvelope(topic, partition, LogEnvelope.encode(payload, from, to, envelopeCompression),
+                        to - from, payloadFormat, envelopeCompression, listener);
+            } catch (Exception e) {
+                List<byte[]> unsent = payload.subList(from, payload.size());
+                listener.onSendError(topic, unsent.size(), e);
+                spillOrDrop(topic, unsent, DropReason.SEND_ERROR);
+                return false;
+            }
+            from = to;
+        }
+        return true;
+    }
+
+    /**
+     * 从from开始、总大小不超过上限的区间终点，至少包含一条
+     */
+    private static int envelopeEnd(List<byte[]> payload, int from) {
+        long bytes = payload.get(from).length;
+        int to = from + 1;
+        while (to < payload.size() && bytes + payload.get(to).length <= LogixConstants.Kafka.ENVELOPE_MAX_BYTES) {
+            bytes += payload.get(to).length;
+            to++;
+        }
+        return to;
+    }
+
+    /**
+     * 在分发线程中完成格式化与序列化，单条失败只丢弃该条
+     */
+    private List<byte[]> encode(String topic, List<PendingLog> batch, List<String> keys) {
+        StackTraceDeduplicator.Marks marks = StackTraceDeduplicator.Marks.current();
+        List<byte[]> payload = new ArrayList<>(batch.size());
+        for (PendingLog pending : batch) {
+            try {
+                // 先取键再编码，实现可能在编码后回收自身
+                String key = keys != null ? partitionKey(topic, pending) : null;
+                byte[] message = pending.encode(payloadFormat);
+                marks.bind(message);
+                payload.add(message);
+                if (keys != null) {
+                    keys.add(key);
+                }
+            } catch (Exception e) {
+                log.debug("[{}] 日志编码失败: {}", topic, e.getMessage());
+                marks.discardUnbound();
+                recordDropped(topic, DropReason.ENCODE_ERROR, 1);
+            }
         }
+        return payload;
+    }
+
+    private String partitionKey(String topic, PendingLog pending) {
+        return RUN_TOPIC.equals(topic) ? runPartitionKey : pending.partitionKey();
+    }
+
+    private static boolean handOffToSpill(LogQueueChannel<PendingLog> handoff, PendingLog pending) {
+        return handoff != null && handoff.publish(pending);
+    }
+
+    /**
+     * 在溢写线程中编码并写盘队列满时被拒绝的日志
+     */
+    private void spillRejected(String topic, List<PendingLog> batch) {
+        StackTraceDeduplicator.Marks marks = StackTraceDeduplicator.Marks.begin();
+        try {
+            spillOrDrop(topic, encode(topic, batch, null), DropReason.QUEUE_FULL);
+        } finally {
+            marks.end();
+        }
+    }
+
+    private boolean spill(String topic, byte[] payload) {
+        return spillStore != null && payload != null && spillStore.append(topic, payloadFormat, payload);
+    }
+
+    private void spillOrDrop(String topic, List<byte[]> payload, DropReason reason) {
+        StackTraceDeduplicator.Marks marks = StackTraceDeduplicator.Marks.current();
+        int dropped = 0;
+        for (byte[] message : payload) {
+            if (!spill(topic, message)) {
+                // 携带完整堆栈的日志被丢弃，撤销去重标记以便下一次重新发送
+                marks.discard(message);
+                dropped++;
+            }
+        }
+        if (dropped > 0) {
+            recordDropped(topic, reason, dropped);
+        }
+    }
+
+    private void recordDropped(String topic, DropReason reason, int count) {
+        if (count <= 0) {
+            return;
+        }
+        deliveryTracker.recordDropped(topic, count);
+        (RUN_TOPIC.equals(topic) ? runChannel : traceChannel).metrics().recordDropped(reason, count);
+    }
+
+    private static int[] admitLimits(int capacity) {
+        int[] limits = new int[LogLevel.values().length];
+        for (int i = 0; i < limits.length; i++) {
+            limits[i] = ADMIT_RATIOS[i] >= 1.0 ? Integer.MAX_VALUE : Math.max(1, (int) (capacity * ADMIT_RATIOS[i]));
+        }
+        return limits;
+    }
+
+    /**
+     * 信封已压缩时关闭生产者压缩
+     */
+    private static String compressionType(DispatcherConfig config) {
+        if (config.isEnvelope() && config.getEnvelopeCompression() != EnvelopeCompression.NONE) {
+            return "none";
+        }
+        return LogixConstants.Kafka.COMPRESSION_TYPE;
+    }
+
+    private static LogQueueChannel<PendingLog> spillHandoff(LogType type, DispatcherConfig config) {
+        return new LogQueueChannel<>(type.name() + "-SPILL", config.getQueueType(), SPILL_HANDOFF_CAPACITY,
+                config.getBatchSize(), config.getBatchTimeout());
+    }
+
+    private static SpillStore openSpillStore(DispatcherConfig config) {
+        if (config.getSpillDirectory() == null || config.getSpillDirectory().isEmpty()) {
+            return null;
+        }
+        try {
+            return new SpillStore(new File(config.getSpillDirectory()), config.getSpillSegmentSize(),
+                    config.getSpillMaxSize());
+        } catch (IOException e) {
+            log.warn("[Spill] 溢写目录不可用，已禁用磁盘溢写: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private ScheduledExecutorService startSpillReplay(int batchSize) {
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+                ThreadPoolUtils.createDaemonThreadFactory("logix-spill-replay"));
+        executor.scheduleWithFixedDelay(
+                new SpillReplayer(spillStore, client, circuitBreaker, deliveryTracker, batchSize),
+                SPILL_REPLAY_INTERVAL_MS, SPILL_REPLAY_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        return executor;
     }
 
     @Override
     public void close() {
+        shutdown();
+    }
+
+    /**
+     * 关闭分发器：停止接收日志，发送队列中剩余的日志并等待Kafka确认，最多等待shutdownTimeout
+     * <p>
+     * 截止时间到达后不再等待，仍在队列中的日志计为SHUTDOWN丢弃；重复调用返回首次关闭的结果。
+     */
+    public synchronized ShutdownReport shutdown() {
+        if (shutdownReport != null) {
+            return shutdownReport;
+        }
+        long startNanos = System.nanoTime();
+        long deadlineNanos = startNanos + shutdownTimeoutNanos;
+        long ackedBefore = deliveryTracker.acked();
+        closed = true;
+        removeShutdownHook();
         runChannel.stop();
         traceChannel.stop();
+        if (spillReplayExecutor != null) {
+            spillReplayExecutor.shutdownNow();
+            runSpillHandoff.stop();
+            traceSpillHandoff.stop();
+        }
+
+        // 先发送剩余日志，再等待分发线程发完手中的批次；其间仍可能有并发入队的日志，最后再取一次
+        long drained = drain(deadlineNanos);
+        joinWorkers(deadlineNanos);
+        drained += drain(deadlineNanos);
+        client.flush(TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime()));
+
+        drainSpillHandoffs(deadlineNanos);
+
+        int runLeft = runChannel.size() + (runSpillHandoff != null ? runSpillHandoff.size() : 0);
+        int traceLeft = traceChannel.size() + (traceSpillHandoff != null ? traceSpillHandoff.size() : 0);
+        recordDropped(RUN_TOPIC, DropReason.SHUTDOWN, runLeft);
+        recordDropped(TRACE_TOPIC, DropReason.SHUTDOWN, traceLeft);
+        long inFlight = deliveryTracker.inFlight();
+
+        if (spillStore != null) {
+            spillStore.close();
+        }
+        LogixMetrics.unregister(metrics);
+        shutdownReport = new ShutdownReport(drained, deliveryTracker.acked() - ackedBefore,
+                runLeft + traceLeft + inFlight, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        if (shutdownReport.isComplete()) {
+            log.info("[Logix] 分发器已关闭: {}", shutdownReport);
+        } else {
+            log.warn("[Logix] 分发器关闭超时，部分日志未发送: {}", shutdownReport);
+        }
+        return shutdownReport;
+    }
+
+    private long drain(long deadlineNanos) {
+        long drained = 0;
+        try {
+            drained += runChannel.drain(payload -> sendBatch(RUN_TOPIC, payload), SHUTDOWN_BATCH_SIZE, deadlineNanos);
+            drained += traceChannel.drain(payload -> sendBatch(TRACE_TOPIC, payload), SHUTDOWN_BATCH_SIZE,
+                    deadlineNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return drained;
+    }
+
+    /**
+     * 溢写线程退出后，把中转通道中剩余的日志写盘，下次启动时回放
+     */
+    private void drainSpillHandoffs(long deadlineNanos) {
+        if (runSpillHandoff == null) {
+            return;
+        }
+        try {
+            runSpillHandoff.drain(payload -> spillRejected(RUN_TOPIC, payload), SHUTDOWN_BATCH_SIZE, deadlineNanos);
+            traceSpillHandoff.drain(payload -> spillRejected(TRACE_TOPIC, payload), SHUTDOWN_BATCH_SIZE,
+                    deadlineNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void joinWorkers(long deadlineNanos) {
+        for (DispatcherWorker worker : workers) {
+            long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime());
+            if (remainingMillis <= 0 || !worker.join(remainingMillis)) {
+                return;
+            }
+        }
+    }
+
+    private Thread registerShutdownHook() {
+        Thread hook = new Thread(this::close, "logix-shutdown");
+        try {
+            Runtime.getRuntime().addShutdownHook(hook);
+            return hook;
+        } catch (IllegalStateException | SecurityException e) {
+            // JVM已在关闭中或无权限
+            return null;
+        }
+    }
+
+    private void removeShutdownHook() {
+        if (shutdownHook == null || Thread.currentThread() == shutdownHook) {
+            return;
+        }
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException | SecurityException ignored) {
+            // JVM已在关闭中，钩子会调用close并直接返回已有结果
+        }
     }
 }
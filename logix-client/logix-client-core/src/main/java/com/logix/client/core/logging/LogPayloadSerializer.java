@@ -0,0 +1,34 @@
+package com.logix.client.core.logging;
+
+import com.logix.common.codec.LogEventEncoder;
+import com.logix.common.enums.PayloadFormat;
+import com.logix.common.model.BaseLogEvent;
+
+import java.util.Map;
+
+/**
+ * 日志事件序列化入口，按格式选择线程私有的编码器
+ *
+ * @author Kanade
+ * @since 2026/10/18
+ */
+public final class LogPayloadSerializer {
+
+    private static final ThreadLocal<JsonEventWriter> JSON_WRITER = ThreadLocal.withInitial(JsonEventWriter::new);
+    private static final ThreadLocal<LogEventEncoder> BINARY_ENCODER = ThreadLocal.withInitial(LogEventEncoder::new);
+
+    private LogPayloadSerializer() {
+    }
+
+    /**
+     * 序列化日志事件
+     *
+     * @param attributes 扩展属性（通常为MDC），仅JSON格式输出
+     */
+    public static byte[] serialize(PayloadFormat format, BaseLogEvent event, Map<String, String> attributes) {
+        if (format == PayloadFormat.BINARY) {
+            return BINARY_ENCODER.get().encode(event);
+        }
+        return JSON_WRITER.get().write(event, attributes);
+    }
+}
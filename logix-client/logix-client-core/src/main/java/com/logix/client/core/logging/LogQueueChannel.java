@@ -1,81 +1,101 @@
 package com.logix.client.core.logging;
 
-import lombok.extern.slf4j.Slf4j;
+import com.logix.client.core.metrics.ChannelMetrics;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * 日志通道，封装队列缓冲与批量触发策略
+ * <p>
+ * 批次在达到maxBatch或最早一条日志入队满batchTimeout时立即发送。消费者在两者之间挂起，
+ * 由publish在缓冲量达到唤醒阈值时unpark，或在截止时间到达时自行醒来，不做固定间隔轮询。
  *
  * @author Kanade
  * @since 2025/10/24
  */
-@Slf4j
-final class LogQueueChannel {
+final class LogQueueChannel<E> {
 
     @FunctionalInterface
-    interface Consumer {
-        void accept(List<String> payload);
+    interface Consumer<E> {
+        void accept(List<E> payload);
     }
 
     private volatile boolean running = true;
 
-    private final String name;
-    private final BlockingQueue<String> queue;
+    private final LogBuffer<E> queue;
     private final int maxBatch;
-    private final long batchTimeout;
-    private final AtomicLong lastFlushTime = new AtomicLong();
+    private final long batchTimeoutNanos;
 
-    LogQueueChannel(String name, int capacity, int maxBatch, long batchTimeout) {
-        this.name = name;
+    /**
+     * 多个worker共享通道时，同一时刻只有一个线程负责攒批，其余线程发送已攒好的批次
+     */
+    private final ReentrantLock consumerLock = new ReentrantLock();
+
+    /**
+     * 正在挂起等待的消费线程及其唤醒阈值
+     */
+    private volatile Thread waiter;
+    private volatile int wakeThreshold = 1;
+
+    /**
+     * 入队、批次大小与批次首条日志入队到发送完成的延迟
+     */
+    private final ChannelMetrics metrics;
+
+    LogQueueChannel(String name, QueueType queueType, int capacity, int maxBatch, long batchTimeout) {
         this.maxBatch = maxBatch;
-        this.batchTimeout = batchTimeout;
-        this.queue = new LinkedBlockingQueue<>(capacity);
+        this.batchTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(batchTimeout);
+        this.queue = LogBuffer.create(queueType, capacity);
+        this.metrics = new ChannelMetrics(name, queue.capacity(), queue::size);
     }
 
-    void publish(String logEvent) {
-        if (logEvent == null) return;
+    /**
+     * @return 是否入队成功，队列已满时返回false
+     */
+    boolean publish(E logEvent) {
+        return publish(logEvent, Integer.MAX_VALUE);
+    }
+
+    /**
+     * 按准入水位入队，队列中已有admitLimit条及以上时拒绝，用于在压力下优先丢弃低优先级日志
+     *
+     * @return 是否入队成功
+     */
+    boolean publish(E logEvent, int admitLimit) {
+        if (logEvent == null) return true;
 
+        if (admitLimit < queue.capacity() && queue.size() >= admitLimit) {
+            return false;
+        }
         if (!queue.offer(logEvent)) {
-            // 每 10 秒最多打印一次
-            if (System.currentTimeMillis() % 10000 < 10) {
-                log.debug("[{}] queue full, dropping logs", name);
-            }
+            return false;
+        }
+        metrics.recordEnqueued();
+
+        Thread parked = waiter;
+        if (parked != null && queue.size() >= wakeThreshold) {
+            LockSupport.unpark(parked);
         }
+        return true;
     }
 
-    void consume(Consumer consumer) {
-        List<String> logEvents = new ArrayList<>(maxBatch);
+    void consume(Consumer<E> consumer) {
+        LogBatch<E> batch = new LogBatch<>(maxBatch);
         while (running) {
             try {
-                logEvents.clear();
-
-                int size = queue.size();
-                long now = System.currentTimeMillis();
-                long elapsed = now - lastFlushTime.get();
-
-                if (size >= maxBatch || elapsed > batchTimeout) {
-                    queue.drainTo(logEvents, maxBatch);
-                } else if (size == 0) {
-                    //队列为空，阻塞等待
-                    String log = queue.take();
-                    logEvents.add(log);
-                    //尝试获取更多
-                    queue.drainTo(logEvents, maxBatch - 1);
-                } else {
-                    TimeUnit.MILLISECONDS.sleep(100);
-                }
-
-                // 统一发送和更新时间
-                if (!logEvents.isEmpty()) {
-                    consumer.accept(logEvents);
+                batch.clear();
+                if (!collect(batch)) {
+                    continue;
                 }
-                lastFlushTime.set(now);
+                metrics.recordBatch(batch.size());
+                consumer.accept(batch.items());
+                recordLatency(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
             } catch (Exception e) {
                 pauseOnError();
             }
@@ -84,6 +104,106 @@ final class LogQueueChannel {
 
     void stop() {
         running = false;
+        Thread parked = waiter;
+        if (parked != null) {
+            LockSupport.unpark(parked);
+        }
+    }
+
+    /**
+     * 关闭时由调用线程取出剩余日志，按batchSize分批交给consumer，直到队列为空或到达截止时间
+     * <p>
+     * 需在stop之后调用：分发线程退出攒批后释放消费权，这里才能取得。
+     *
+     * @return 取出的日志条数
+     */
+    int drain(Consumer<E> consumer, int batchSize, long deadlineNanos) throws InterruptedException {
+        if (!consumerLock.tryLock(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+            return 0;
+        }
+        try {
+            LogBatch<E> batch = new LogBatch<>(batchSize);
+            int drained = 0;
+            while (System.nanoTime() < deadlineNanos) {
+                batch.clear();
+                if (queue.drainTo(batch, batchSize) == 0) {
+                    break;
+                }
+                metrics.recordBatch(batch.size());
+                consumer.accept(batch.items());
+                recordLatency(batch);
+                drained += batch.size();
+            }
+            return drained;
+        } finally {
+            consumerLock.unlock();
+        }
+    }
+
+    int capacity() {
+        return queue.capacity();
+    }
+
+    int size() {
+        return queue.size();
+    }
+
+    ChannelMetrics metrics() {
+        return metrics;
+    }
+
+    /**
+     * 攒批，直到批次已满或最早一条日志达到超时时间
+     *
+     * @return 批次是否有数据需要发送
+     */
+    private boolean collect(LogBatch<E> batch) throws InterruptedException {
+        consumerLock.lockInterruptibly();
+        try {
+            while (running) {
+                queue.drainTo(batch, batch.remaining());
+                if (batch.remaining() == 0) {
+                    return true;
+                }
+
+                if (batch.isEmpty()) {
+                    // 空闲：等待第一条日志
+                    awaitPublish(1, batchTimeoutNanos);
+                } else {
+                    long remainingNanos = batch.firstEnqueueNanos() + batchTimeoutNanos - System.nanoTime();
+                    if (remainingNanos <= 0) {
+                        return true;
+                    }
+                    awaitPublish(batch.remaining(), remainingNanos);
+                }
+            }
+            return !batch.isEmpty();
+        } finally {
+            consumerLock.unlock();
+        }
+    }
+
+    private void awaitPublish(int threshold, long nanos) throws InterruptedException {
+        wakeThreshold = threshold;
+        waiter = Thread.currentThread();
+        try {
+            // 登记后再检查一次，避免与publish之间丢失唤醒
+            if (running && queue.size() < threshold) {
+                LockSupport.parkNanos(this, nanos);
+            }
+        } finally {
+            waiter = null;
+        }
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+    }
+
+    /**
+     * 每个批次记录一次首条日志的排队延迟，即批次内最长的排队时间
+     */
+    private void recordLatency(LogBatch<E> batch) {
+        metrics.recordQueueLatency(System.nanoTime() - batch.firstEnqueueNanos());
     }
 
     private void pauseOnError() {
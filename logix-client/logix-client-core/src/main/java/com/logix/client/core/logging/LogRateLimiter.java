@@ -0,0 +1,131 @@
+package com.logix.client.core.logging;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 按logger与消息模板限流的令牌桶
+ * <p>
+ * 以(logger, 模板)的哈希分条，每个分条是一个GCRA令牌桶：只保存“理论到达时间”一个long，
+ * 放行时一次CAS推进，不加锁也不会阻塞调用方。不同key落在同一分条时共享配额。
+ * <p>
+ * 被限流的日志只计数，下一条放行的同模板日志携带期间被合并的条数。每个分条保存一条按(logger, 模板)
+ * 区分的合并记录，只在开始限流时创建：记录中尚有未领取的条数时，同分条其他模板被限流的条数只计入总数，
+ * 不会被算到别的模板上，因此合并条数在哈希冲突时可能偏少，但不会张冠李戴。
+ *
+ * @author Kanade
+ * @since 2026/10/18
+ */
+public final class LogRateLimiter {
+
+    /**
+     * 本条日志被限流
+     */
+    public static final long DENIED = -1;
+
+    private static final int DEFAULT_STRIPES = 4096;
+
+    private final int mask;
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLongArray arrivals;
+    private final AtomicReferenceArray<Suppression> suppressions;
+    private final LongAdder totalSuppressed = new LongAdder();
+    private final long origin = System.nanoTime();
+
+    /**
+     * @param permitsPerSecond 每个key每秒允许的条数
+     * @param burst            允许的突发条数
+     */
+    public LogRateLimiter(double permitsPerSecond, int burst) {
+        this(permitsPerSecond, burst, DEFAULT_STRIPES);
+    }
+
+    public LogRateLimiter(double permitsPerSecond, int burst, int stripes) {
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("permitsPerSecond must be positive");
+        }
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1) << 1);
+        this.mask = size - 1;
+        this.intervalNanos = Math.max(1L, (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+        this.burstNanos = intervalNanos * Math.max(0, burst - 1);
+        this.arrivals = new AtomicLongArray(size);
+        this.suppressions = new AtomicReferenceArray<>(size);
+    }
+
+    /**
+     * 尝试放行一条日志
+     *
+     * @param logger   logger名称
+     * @param template 未格式化的消息模板
+     * @return {@link #DENIED}表示限流；否则为此前被合并的同logger同模板日志条数
+     */
+    public long tryAcquire(String logger, String template) {
+        int stripe = stripe(logger, template);
+        long now = System.nanoTime() - origin;
+        while (true) {
+            long arrival = arrivals.get(stripe);
+            long base = Math.max(arrival, now);
+            if (base - now > burstNanos) {
+                totalSuppressed.increment();
+                countSuppressed(stripe, logger, template);
+                return DENIED;
+            }
+            if (arrivals.compareAndSet(stripe, arrival, base + intervalNanos)) {
+                Suppression suppression = suppressions.get(stripe);
+                if (suppression == null || suppression.count.get() == 0 || !suppression.matches(logger, template)) {
+                    return 0;
+                }
+                return suppression.count.getAndSet(0);
+            }
+        }
+    }
+
+    private void countSuppressed(int stripe, String logger, String template) {
+        Suppression suppression = suppressions.get(stripe);
+        if (suppression != null && suppression.matches(logger, template)) {
+            suppression.count.incrementAndGet();
+        } else if (suppression == null || suppression.count.get() == 0) {
+            // CAS失败说明同分条的其他模板同时开始计数，本条只计入总数
+            suppressions.compareAndSet(stripe, suppression, new Suppression(logger, template));
+        }
+    }
+
+    /**
+     * 累计被限流的条数
+     */
+    public long getSuppressed() {
+        return totalSuppressed.sum();
+    }
+
+    private int stripe(String logger, String template) {
+        int h = (logger != null ? logger.hashCode() : 0) * 31 + (template != null ? template.hashCode() : 0);
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        return h & mask;
+    }
+
+    /**
+     * 分条内一个模板的合并记录
+     */
+    private static final class Suppression {
+
+        private final String logger;
+        private final String template;
+        private final AtomicLong count = new AtomicLong(1);
+
+        Suppression(String logger, String template) {
+            this.logger = logger;
+            this.template = template;
+        }
+
+        boolean matches(String logger, String template) {
+            return Objects.equals(this.template, template) && Objects.equals(this.logger, logger);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.logix.client.core.logging;
+
+import com.logix.common.enums.PayloadFormat;
+
+/**
+ * 待投递的日志
+ * <p>
+ * 业务线程只需构造一个廉价的不可变快照放入队列，格式化与序列化在分发线程中通过{@link #encode}完成。
+ * 分发器对每条日志至多调用一次{@link #encode}，被丢弃的日志可能从未编码，实现可以在编码完成后回收复用自身。
+ *
+ * @author Kanade
+ * @since 2026/10/18
+ */
+@FunctionalInterface
+public interface PendingLog {
+
+    /**
+     * 按格式编码为消息体，在分发线程中调用
+     */
+    byte[] encode(PayloadFormat format);
+
+    /**
+     * 分区键，相同键的日志写入同一分区；null时由KafkaProducer粘性分区
+     */
+    default String partitionKey() {
+        return null;
+    }
+
+    /**
+     * 包装已编码的消息体，调用方需保证与分发器的编码格式一致
+     */
+    static PendingLog encoded(byte[] payload) {
+        return format -> payload;
+    }
+
+    /**
+     * 为日志指定分区键
+     */
+    static PendingLog keyed(String partitionKey, PendingLog delegate) {
+        if (partitionKey == null) {
+            return delegate;
+        }
+        return new PendingLog() {
+            @Override
+            public byte[] encode(PayloadFormat format) {
+                return delegate.encode(format);
+            }
+
+            @Override
+            public String partitionKey() {
+                return partitionKey;
+            }
+        };
+    }
+}
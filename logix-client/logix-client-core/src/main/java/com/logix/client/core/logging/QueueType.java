@@ -0,0 +1,20 @@
+package com.logix.client.core.logging;
+
+/**
+ * 日志通道缓冲区实现类型
+ *
+ * @author Kanade
+ * @since 2026/10/18
+ */
+public enum QueueType {
+
+    /**
+     * 基于LinkedBlockingQueue，每次写入分配节点并加锁
+     */
+    LINKED,
+
+    /**
+     * 预分配的多生产者环形缓冲区，写入路径无锁
+     */
+    RING
+}
@@ -0,0 +1,156 @@
+package com.logix.client.core.logging;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * 多生产者/单消费者环形缓冲区（Disruptor风格）
+ * <p>
+ * 生产者通过CAS抢占序号，写入槽位后以轮次标记发布；消费者按序号顺序读取已发布的槽位。
+ * 槽位预分配，写入路径无锁、无节点分配。缓冲区满时直接拒绝写入，与原队列的丢弃语义一致。
+ *
+ * @author Kanade
+ * @since 2026/10/18
+ */
+final class RingLogBuffer<E> implements LogBuffer<E> {
+
+    private final int capacity;
+    private final int mask;
+    private final int indexShift;
+    private final Object[] entries;
+    private final long[] enqueueNanos;
+
+    /**
+     * 槽位发布标记，值为序号所在的轮次
+     */
+    private final AtomicIntegerArray available;
+
+    /**
+     * 下一个待抢占的生产序号
+     */
+    private final Sequence producerCursor = new Sequence(0L);
+
+    /**
+     * 下一个待消费的序号
+     */
+    private final Sequence consumerCursor = new Sequence(0L);
+
+    /**
+     * 生产者缓存的消费进度，减少对consumerCursor的争用
+     */
+    private final Sequence gatingCache = new Sequence(0L);
+
+    RingLogBuffer(int requestedCapacity) {
+        this.capacity = ceilingPowerOfTwo(requestedCapacity);
+        this.mask = capacity - 1;
+        this.indexShift = Integer.numberOfTrailingZeros(capacity);
+        this.entries = new Object[capacity];
+        this.enqueueNanos = new long[capacity];
+        this.available = new AtomicIntegerArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            available.set(i, -1);
+        }
+    }
+
+    @Override
+    public boolean offer(E element) {
+        long current;
+        do {
+            current = producerCursor.get();
+            long wrapPoint = current - capacity;
+            if (wrapPoint >= gatingCache.get()) {
+                long consumed = consumerCursor.get();
+                gatingCache.lazySet(consumed);
+                if (wrapPoint >= consumed) {
+                    return false;
+                }
+            }
+        } while (!producerCursor.compareAndSet(current, current + 1));
+
+        int index = (int) current & mask;
+        entries[index] = element;
+        enqueueNanos[index] = System.nanoTime();
+        available.lazySet(index, (int) (current >>> indexShift));
+        return true;
+    }
+
+    @Override
+    public int drainTo(LogBatch<E> batch, int maxElements) {
+        long sequence = consumerCursor.get();
+        int drained = 0;
+        while (drained < maxElements) {
+            int index = (int) sequence & mask;
+            if (available.get(index) != (int) (sequence >>> indexShift)) {
+                break;
+            }
+            @SuppressWarnings("unchecked")
+            E element = (E) entries[index];
+            entries[index] = null;
+            batch.add(element, enqueueNanos[index]);
+            sequence++;
+            drained++;
+        }
+        if (drained > 0) {
+            consumerCursor.lazySet(sequence);
+        }
+        return drained;
+    }
+
+    @Override
+    public int size() {
+        long size = producerCursor.get() - consumerCursor.get();
+        return (int) Math.max(0, Math.min(size, capacity));
+    }
+
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+
+    private static int ceilingPowerOfTwo(int value) {
+        if (value <= 1) {
+            return 1;
+        }
+        if (value > (1 << 30)) {
+            return 1 << 30;
+        }
+        return Integer.highestOneBit(value - 1) << 1;
+    }
+
+    /**
+     * 前后填充的序号，避免生产者与消费者游标落在同一缓存行上产生伪共享
+     */
+    @SuppressWarnings("unused")
+    abstract static class LhsPadding {
+        protected long p1, p2, p3, p4, p5, p6, p7;
+    }
+
+    abstract static class Value extends LhsPadding {
+        protected volatile long value;
+    }
+
+    @SuppressWarnings("unused")
+    static final class Sequence extends Value {
+
+        private static final AtomicLongFieldUpdater<Value> UPDATER =
+                AtomicLongFieldUpdater.newUpdater(Value.class, "value");
+
+        protected long p9, p10, p11, p12, p13, p14, p15;
+
+        Sequence(long initialValue) {
+            UPDATER.lazySet(this, initialValue);
+        }
+
+        long get() {
+            return value;
+        }
+
+        void lazySet(long newValue) {
+            UPDATER.lazySet(this, newValue);
+        }
+
+        boolean compareAndSet(long expected, long newValue) {
+            return UPDATER.compareAndSet(this, expected, newValue);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.logix.client.core.logging;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 分发器关闭结果，均按日志条数计
+ *
+ * @author Kanade
+ * @since 2026/10/18
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class ShutdownReport {
+
+    /**
+     * 关闭时从队列中取出并交给发送的条数
+     */
+    private final long drained;
+
+    /**
+     * 关闭期间确认投递的条数，包含关闭前已发送、关闭期间才收到回调的日志
+     */
+    private final long flushed;
+
+    /**
+     * 截止时间到达时仍在队列中或已发送未确认的条数，这些日志可能丢失
+     */
+    private final long abandoned;
+
+    /**
+     * 关闭耗时（毫秒）
+     */
+    private final long elapsedMillis;
+
+    /**
+     * 是否在截止时间前全部发送完成
+     */
+    public boolean isComplete() {
+        return abandoned == 0;
+    }
+}
@@ -0,0 +1,94 @@
+package com.logix.client.core.logging;
+
+import com.logix.client.core.circuit.CircuitBreaker;
+import com.logix.client.core.kafka.KafkaProducerClient;
+import com.logix.client.core.kafka.exception.KafkaConnectException;
+import com.logix.client.core.spill.SpillBatch;
+import com.logix.client.core.spill.SpillRecord;
+import com.logix.client.core.spill.SpillStore;
+import com.logix.common.enums.PayloadFormat;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 溢写回放任务，断路器关闭后把磁盘上的日志按原顺序重新投递到Kafka
+ *
+ * @author Kanade
+ * @since 2026/10/18
+ */
+@Slf4j
+final class SpillReplayer implements Runnable {
+
+    private final SpillStore store;
+    private final KafkaProducerClient client;
+    private final CircuitBreaker circuitBreaker;
+    private final DeliveryTracker deliveryTracker;
+    private final int batchSize;
+
+    SpillReplayer(SpillStore store, KafkaProducerClient client, CircuitBreaker circuitBreaker,
+                  DeliveryTracker deliveryTracker, int batchSize) {
+        this.store = store;
+        this.client = client;
+        this.circuitBreaker = circuitBreaker;
+        this.deliveryTracker = deliveryTracker;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run() {
+        try {
+            // 只在断路器关闭时回放，不占用半开状态的探测机会
+            while (!Thread.currentThread().isInterrupted()) {
+                long permit = circuitBreaker.tryAcquireClosed();
+                if (permit == CircuitBreaker.DENIED) {
+                    return;
+                }
+                SpillBatch batch = store.poll(batchSize);
+                if (batch.isEmpty()) {
+                    return;
+                }
+                // 部分发送失败时只确认已交给KafkaProducer的前缀，其余下次从失败处重新读取
+                int sent = send(batch.getRecords(), deliveryTracker.listener(permit));
+                store.commit(batch, sent);
+                if (sent < batch.getRecords().size()) {
+                    return;
+                }
+            }
+        } catch (Exception e) {
+            log.debug("[Spill] 回放异常: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 按topic与格式分组发送连续的记录
+     *
+     * @return 从头开始已交给KafkaProducer的条数，全部发送时等于records.size()
+     */
+    private int send(List<SpillRecord> records, DeliveryTracker.BatchListener listener) {
+        int start = 0;
+        while (start < records.size()) {
+            SpillRecord first = records.get(start);
+            String topic = first.getTopic();
+            PayloadFormat format = first.getFormat();
+            List<byte[]> payload = new ArrayList<>();
+            int end = start;
+            while (end < records.size() && records.get(end).getTopic().equals(topic)
+                    && records.get(end).getFormat() == format) {
+                payload.add(records.get(end).getPayload());
+                end++;
+            }
+            try {
+                client.putMessageList(topic, payload, format, listener);
+            } catch (Exception e) {
+                int sent = e instanceof KafkaConnectException ? ((KafkaConnectException) e).getSent() : 0;
+                sent = Math.min(sent, payload.size());
+                listener.onSendError(topic, payload.size() - sent, e);
+                return start + sent;
+            }
+            start = end;
+        }
+        return records.size();
+    }
+}
@@ -0,0 +1,214 @@
+package com.logix.client.core.logging;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 异常堆栈去重
+ * <p>
+ * 按异常类型与栈帧（含cause链）计算稳定的64位指纹，不包含异常消息，因此同一代码路径抛出的异常指纹相同。
+ * 有界LRU记录每个指纹最近一次上报完整堆栈的时间：首次出现或超过重发间隔时才需要渲染并发送完整堆栈，
+ * 其余日志只携带指纹，由服务端关联。线程安全。
+ * <p>
+ * 在分发线程中编码时，发送完整堆栈的标记登记到本批的{@link Marks}：日志交给KafkaProducer或写入溢写文件后
+ * 标记保留，被丢弃（熔断、发送失败且无法溢写、编码失败）时撤销，下一次出现的同指纹日志重新携带完整堆栈。
+ * 已交给KafkaProducer但异步投递失败的情况由重发间隔兜底。
+ *
+ * @author Kanade
+ * @since 2026/10/18
+ */
+public final class StackTraceDeduplicator {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final int MAX_CAUSE_DEPTH = 16;
+
+    private static final ThreadLocal<Marks> MARKS = new ThreadLocal<>();
+
+    private final long resendIntervalNanos;
+    private final Map<Long, Long> lastSent;
+
+    /**
+     * @param maxEntries     LRU容量
+     * @param resendInterval 完整堆栈的重发间隔（毫秒），保证服务端侧表过期或丢失后能补齐
+     */
+    public StackTraceDeduplicator(int maxEntries, long resendInterval) {
+        this.resendIntervalNanos = TimeUnit.MILLISECONDS.toNanos(resendInterval);
+        this.lastSent = new LinkedHashMap<Long, Long>(Math.min(maxEntries, 1024), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * 是否需要发送完整堆栈；返回true时同时记录本次发送时间
+     */
+    public boolean shouldSendFull(long fingerprint) {
+        long now = System.nanoTime();
+        synchronized (lastSent) {
+            Long sent = lastSent.get(fingerprint);
+            if (sent != null && now - sent < resendIntervalNanos) {
+                return false;
+            }
+            lastSent.put(fingerprint, now);
+        }
+        Marks marks = MARKS.get();
+        if (marks != null && marks.active) {
+            marks.unbound.add(new Mark(this, fingerprint, now));
+        }
+        return true;
+    }
+
+    /**
+     * 撤销一次标记，期间已被更新的记录保留
+     */
+    private void unmark(long fingerprint, long markedAt) {
+        synchronized (lastSent) {
+            Long sent = lastSent.get(fingerprint);
+            if (sent != null && sent == markedAt) {
+                lastSent.remove(fingerprint);
+            }
+        }
+    }
+
+    /**
+     * 计算异常指纹，只遍历栈帧，不渲染字符串
+     */
+    public static long fingerprint(Throwable throwable) {
+        long hash = FNV_OFFSET;
+        Set<Throwable> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        Throwable current = throwable;
+        for (int depth = 0; current != null && depth < MAX_CAUSE_DEPTH && seen.add(current); depth++) {
+            hash = mix(hash, current.getClass().getName().hashCode());
+            for (StackTraceElement frame : current.getStackTrace()) {
+                hash = mix(hash, frame.getClassName().hashCode());
+                hash = mix(hash, frame.getMethodName().hashCode());
+                hash = mix(hash, frame.getLineNumber());
+            }
+            current = current.getCause();
+        }
+        return hash;
+    }
+
+    /**
+     * 指纹的16位十六进制表示
+     */
+    public static String toHex(long fingerprint) {
+        String hex = Long.toHexString(fingerprint);
+        if (hex.length() == 16) {
+            return hex;
+        }
+        StringBuilder builder = new StringBuilder(16);
+        for (int i = hex.length(); i < 16; i++) {
+            builder.append('0');
+        }
+        return builder.append(hex).toString();
+    }
+
+    private static long mix(long hash, int value) {
+        for (int i = 0; i < 4; i++) {
+            hash ^= (value >>> (i << 3)) & 0xFF;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * 分发线程中一个批次登记的完整堆栈标记，按编码后的消息体关联，每个线程复用一个实例
+     */
+    static final class Marks {
+
+        private final List<Mark> unbound = new ArrayList<>();
+        private final Map<byte[], List<Mark>> bound = new IdentityHashMap<>();
+        private boolean active;
+
+        /**
+         * 在当前线程开始登记一个批次
+         */
+        static Marks begin() {
+            Marks marks = MARKS.get();
+            if (marks == null) {
+                marks = new Marks();
+                MARKS.set(marks);
+            }
+            marks.active = true;
+            return marks;
+        }
+
+        /**
+         * 当前线程正在登记的批次，只能在{@link #begin()}之后调用
+         */
+        static Marks current() {
+            return MARKS.get();
+        }
+
+        /**
+         * 把编码期间登记的标记关联到返回的消息体
+         */
+        void bind(byte[] payload) {
+            if (!unbound.isEmpty()) {
+                bound.put(payload, new ArrayList<>(unbound));
+                unbound.clear();
+            }
+        }
+
+        /**
+         * 编码失败，撤销编码期间登记的标记
+         */
+        void discardUnbound() {
+            for (Mark mark : unbound) {
+                mark.undo();
+            }
+            unbound.clear();
+        }
+
+        /**
+         * 消息体被丢弃，撤销其携带的标记
+         */
+        void discard(byte[] payload) {
+            if (bound.isEmpty()) {
+                return;
+            }
+            List<Mark> marks = bound.remove(payload);
+            if (marks != null) {
+                for (Mark mark : marks) {
+                    mark.undo();
+                }
+            }
+        }
+
+        /**
+         * 批次结束，未被撤销的标记即为已确认
+         */
+        void end() {
+            active = false;
+            unbound.clear();
+            bound.clear();
+        }
+    }
+
+    private static final class Mark {
+
+        private final StackTraceDeduplicator owner;
+        private final long fingerprint;
+        private final long markedAt;
+
+        Mark(StackTraceDeduplicator owner, long fingerprint, long markedAt) {
+            this.owner = owner;
+            this.fingerprint = fingerprint;
+            this.markedAt = markedAt;
+        }
+
+        void undo() {
+            owner.unmark(fingerprint, markedAt);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.logix.client.core.logging;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 分发线程健康状态快照
+ *
+ * @author Kanade
+ * @since 2026/10/18
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class WorkerHealth {
+
+    /**
+     * 线程名
+     */
+    private final String name;
+
+    /**
+     * 线程是否存活
+     */
+    private final boolean alive;
+
+    /**
+     * 当前批次已发送的时长（毫秒），空闲时为0
+     */
+    private final long busyMillis;
+
+    /**
+     * 已发送的批次数
+     */
+    private final long batches;
+
+    /**
+     * 是否卡住：线程已退出，或单个批次发送超过阈值仍未返回
+     */
+    private final boolean stalled;
+}
@@ -0,0 +1,117 @@
+package com.logix.client.core.metrics;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+/**
+ * 单个日志通道的指标
+ * <p>
+ * 计数使用{@link LongAdder}分段累加，业务线程入队时只在本线程的槽位上自增，互不竞争；
+ * 直方图只在分发线程中记录。读取时汇总，结果为近似的瞬时值。
+ *
+ * @author Kanade
+ * @since 2026/10/18
+ */
+public final class ChannelMetrics {
+
+    private static final DropReason[] REASONS = DropReason.values();
+
+    private final String name;
+    private final int capacity;
+    private final IntSupplier depth;
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder[] dropped = new LongAdder[REASONS.length];
+    private final Histogram batchSize = new Histogram();
+    private final Histogram queueLatency = new Histogram();
+
+    public ChannelMetrics(String name, int capacity, IntSupplier depth) {
+        this.name = name;
+        this.capacity = capacity;
+        this.depth = depth;
+        for (int i = 0; i < dropped.length; i++) {
+            dropped[i] = new LongAdder();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 队列容量
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * 当前队列深度
+     */
+    public int getQueueDepth() {
+        return depth.getAsInt();
+    }
+
+    /**
+     * 累计入队条数
+     */
+    public long getEnqueued() {
+        return enqueued.sum();
+    }
+
+    /**
+     * 指定原因的累计丢弃条数
+     */
+    public long dropped(DropReason reason) {
+        return dropped[reason.ordinal()].sum();
+    }
+
+    /**
+     * 各原因的累计丢弃条数
+     */
+    public Map<String, Long> getDropped() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (DropReason reason : REASONS) {
+            counts.put(reason.name(), dropped(reason));
+        }
+        return Collections.unmodifiableMap(counts);
+    }
+
+    /**
+     * 每批发送的条数分布
+     */
+    public Histogram.Snapshot getBatchSize() {
+        return batchSize.snapshot();
+    }
+
+    /**
+     * 批次首条日志入队到发送完成的延迟分布（纳秒），每个批次记录一次
+     */
+    public Histogram.Snapshot getQueueLatency() {
+        return queueLatency.snapshot();
+    }
+
+    public void recordEnqueued() {
+        enqueued.increment();
+    }
+
+    public void recordDropped(DropReason reason, int count) {
+        dropped[reason.ordinal()].add(count);
+    }
+
+    public void recordBatch(int size) {
+        batchSize.record(size);
+    }
+
+    public void recordQueueLatency(long nanos) {
+        queueLatency.record(nanos);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s{enqueued=%d, depth=%d/%d, dropped=%s, batchSize=[%s], queueLatency=[%s]}",
+                name, getEnqueued(), getQueueDepth(), capacity, getDropped(), getBatchSize(), getQueueLatency());
+    }
+}
@@ -0,0 +1,76 @@
+package com.logix.client.core.metrics;
+
+import com.logix.client.core.circuit.CircuitState;
+import com.logix.client.core.kafka.DeliveryStats;
+
+import java.util.function.Supplier;
+
+/**
+ * 分发器指标：两个通道的入队、丢弃、队列深度、批次大小与排队延迟，
+ * 各topic的投递结果与发送延迟，以及断路器状态
+ *
+ * @author Kanade
+ * @since 2026/10/18
+ */
+public final class DispatcherMetrics implements DispatcherMetricsMXBean {
+
+    private final String name;
+    private final ChannelMetrics runChannel;
+    private final ChannelMetrics traceChannel;
+    private final DeliveryStats runDelivery;
+    private final DeliveryStats traceDelivery;
+    private final Supplier<CircuitState> circuitState;
+
+    public DispatcherMetrics(String name, ChannelMetrics runChannel, ChannelMetrics traceChannel,
+                             DeliveryStats runDelivery, DeliveryStats traceDelivery,
+                             Supplier<CircuitState> circuitState) {
+        this.name = name;
+        this.runChannel = runChannel;
+        this.traceChannel = traceChannel;
+        this.runDelivery = runDelivery;
+        this.traceDelivery = traceDelivery;
+        this.circuitState = circuitState;
+    }
+
+    /**
+     * 指标名称，通常为应用名
+     */
+    public String name() {
+        return name;
+    }
+
+    public CircuitState circuitState() {
+        return circuitState.get();
+    }
+
+    @Override
+    public String getCircuitState() {
+        return circuitState().name();
+    }
+
+    @Override
+    public ChannelMetrics getRunChannel() {
+        return runChannel;
+    }
+
+    @Override
+    public ChannelMetrics getTraceChannel() {
+        return traceChannel;
+    }
+
+    @Override
+    public DeliveryStats getRunDelivery() {
+        return runDelivery;
+    }
+
+    @Override
+    public DeliveryStats getTraceDelivery() {
+        return traceDelivery;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s{circuit=%s, run=%s, trace=%s, %s, %s}",
+                name, getCircuitState(), runChannel, traceChannel, runDelivery, traceDelivery);
+    }
+}
@@ -0,0 +1,25 @@
+package com.logix.client.core.metrics;
+
+import com.logix.client.core.kafka.DeliveryStats;
+
+/**
+ * 分发器指标的JMX视图，注册为 {@code com.logix.client:type=Dispatcher,name=<应用名>}
+ *
+ * @author Kanade
+ * @since 2026/10/18
+ */
+public interface DispatcherMetricsMXBean {
+
+    /**
+     * 断路器状态：CLOSED / OPEN / HALF_OPEN
+     */
+    String getCircuitState();
+
+    ChannelMetrics getRunChannel();
+
+    ChannelMetrics getTraceChannel();
+
+    DeliveryStats getRunDelivery();
+
+    DeliveryStats getTraceDelivery();
+}
@@ -0,0 +1,35 @@
+package com.logix.client.core.metrics;
+
+/**
+ * 日志被丢弃的原因
+ *
+ * @author Kanade
+ * @since 2026/10/18
+ */
+public enum DropReason {
+
+    /**
+     * 队列已满或超过该级别的准入水位，且无法溢写
+     */
+    QUEUE_FULL,
+
+    /**
+     * 格式化或序列化失败
+     */
+    ENCODE_ERROR,
+
+    /**
+     * 熔断中未尝试发送，且无法溢写
+     */
+    CIRCUIT_OPEN,
+
+    /**
+     * 发送异常，且无法溢写
+     */
+    SEND_ERROR,
+
+    /**
+     * 分发器关闭后投递，或关闭截止时间到达时仍在队列中
+     */
+    SHUTDOWN
+}
@@ -0,0 +1,160 @@
+package com.logix.client.core.metrics;
+
+import lombok.Getter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 对数线性直方图，用于延迟（纳秒）与批次大小等非负整数
+ * 按2的幂分段、每段16个线性子桶，相对误差约6%，记录路径只有一次原子自增
+ * <p>
+ * 统计为滑动窗口而非累计值：样本按{@value #PERIOD_SECONDS}秒一个周期写入两组交替使用的计数，
+ * 快照合并当前周期与上一周期，即反映最近1~2个周期的分布，旧样本随时间淘汰。
+ * 读取不会重置统计，JMX、Micrometer等多个读取方互不影响。进入新周期时清空过期的一组计数，
+ * 与清空同时发生的少量记录可能丢失。
+ *
+ * @author Kanade
+ * @since 2026/10/18
+ */
+public final class Histogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 42;  // 纳秒约73分钟
+    private static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKET_COUNT;
+
+    private static final long PERIOD_SECONDS = 60;
+    private static final long PERIOD_NANOS = TimeUnit.SECONDS.toNanos(PERIOD_SECONDS);
+
+    private final AtomicLongArray[] counts = {new AtomicLongArray(BUCKET_COUNT), new AtomicLongArray(BUCKET_COUNT)};
+    private final AtomicLongArray periods = new AtomicLongArray(2);
+    private final long origin = System.nanoTime();
+
+    /**
+     * 记录一个值，负数按0处理
+     */
+    public void record(long value) {
+        long period = currentPeriod();
+        int slot = (int) (period & 1);
+        long slotPeriod = periods.get(slot);
+        if (slotPeriod < period && periods.compareAndSet(slot, slotPeriod, period)) {
+            clear(counts[slot]);
+        }
+        counts[slot].incrementAndGet(indexOf(Math.max(0L, value)));
+    }
+
+    /**
+     * 获取最近1~2个周期的分布快照
+     */
+    public Snapshot snapshot() {
+        long period = currentPeriod();
+        long[] copy = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int slot = 0; slot < counts.length; slot++) {
+            if (periods.get(slot) < period - 1) {
+                continue;
+            }
+            AtomicLongArray slotCounts = counts[slot];
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                long count = slotCounts.get(i);
+                copy[i] += count;
+                total += count;
+            }
+        }
+        return new Snapshot(total,
+                valueAt(copy, total, 0.50),
+                valueAt(copy, total, 0.90),
+                valueAt(copy, total, 0.99),
+                valueAt(copy, total, 1.0));
+    }
+
+    /**
+     * 清空统计
+     */
+    public void reset() {
+        for (AtomicLongArray slotCounts : counts) {
+            clear(slotCounts);
+        }
+    }
+
+    private long currentPeriod() {
+        return (System.nanoTime() - origin) / PERIOD_NANOS;
+    }
+
+    private static void clear(AtomicLongArray slotCounts) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            slotCounts.set(i, 0L);
+        }
+    }
+
+    private static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKET_COUNT - 1;
+        }
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) ((value >>> shift) & (SUB_BUCKET_COUNT - 1));
+        return (shift + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    /**
+     * 桶的上界
+     */
+    private static long upperBoundOf(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKET_COUNT - 1;
+        long subBucket = index % SUB_BUCKET_COUNT;
+        return ((SUB_BUCKET_COUNT + subBucket + 1) << shift) - 1;
+    }
+
+    private static long valueAt(long[] counts, long total, double percentile) {
+        if (total == 0) {
+            return 0L;
+        }
+        long threshold = Math.max(1L, (long) Math.ceil(total * percentile));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= threshold) {
+                return upperBoundOf(i);
+            }
+        }
+        return upperBoundOf(counts.length - 1);
+    }
+
+    /**
+     * 分布快照，单位与记录时一致
+     */
+    @Getter
+    public static final class Snapshot {
+
+        /**
+         * 样本数
+         */
+        private final long count;
+
+        private final long p50;
+        private final long p90;
+        private final long p99;
+        private final long max;
+
+        Snapshot(long count, long p50, long p90, long p99, long max) {
+            this.count = count;
+            this.p50 = p50;
+            this.p90 = p90;
+            this.p99 = p99;
+            this.max = max;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("count=%d, p50=%d, p90=%d, p99=%d, max=%d", count, p50, p90, p99, max);
+        }
+    }
+}
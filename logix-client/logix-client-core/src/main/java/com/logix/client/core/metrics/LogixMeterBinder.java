@@ -0,0 +1,102 @@
+package com.logix.client.core.metrics;
+
+import com.logix.client.core.circuit.CircuitState;
+import com.logix.client.core.kafka.DeliveryStats;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Micrometer指标绑定
+ * <p>
+ * 绑定时读取{@link LogixMetrics#all()}中已注册的分发器，计数以FunctionCounter、其余以Gauge按需读取，
+ * 日志写入路径不经过Micrometer。直方图以分位数Gauge导出（quantile标签），延迟单位为秒；
+ * 分位数为最近1~2分钟的滑动窗口，见{@link Histogram}，不是进程启动以来的累计分布。
+ * Spring Boot应用引入micrometer-core后自动注册，其他场景手动调用{@link #bindTo}。
+ *
+ * @author Kanade
+ * @since 2026/10/18
+ */
+public class LogixMeterBinder implements MeterBinder {
+
+    private static final String PREFIX = "logix.client.";
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (DispatcherMetrics metrics : LogixMetrics.all()) {
+            Tags tags = Tags.of("app", metrics.name() != null ? metrics.name() : "default");
+            Gauge.builder(PREFIX + "circuit.state", metrics, m -> stateValue(m.circuitState()))
+                    .description("断路器状态：0关闭，1半开，2熔断")
+                    .tags(tags)
+                    .register(registry);
+            bindChannel(registry, tags, metrics.getRunChannel());
+            bindChannel(registry, tags, metrics.getTraceChannel());
+            bindDelivery(registry, tags, metrics.getRunDelivery());
+            bindDelivery(registry, tags, metrics.getTraceDelivery());
+        }
+    }
+
+    private void bindChannel(MeterRegistry registry, Tags appTags, ChannelMetrics channel) {
+        Tags tags = appTags.and("channel", channel.getName());
+        FunctionCounter.builder(PREFIX + "enqueued", channel, ChannelMetrics::getEnqueued)
+                .description("累计入队条数")
+                .tags(tags)
+                .register(registry);
+        for (DropReason reason : DropReason.values()) {
+            FunctionCounter.builder(PREFIX + "dropped", channel, c -> c.dropped(reason))
+                    .description("累计丢弃条数")
+                    .tags(tags.and("reason", reason.name()))
+                    .register(registry);
+        }
+        Gauge.builder(PREFIX + "queue.depth", channel, ChannelMetrics::getQueueDepth)
+                .description("当前队列深度")
+                .tags(tags)
+                .register(registry);
+        Gauge.builder(PREFIX + "queue.capacity", channel, ChannelMetrics::getCapacity)
+                .tags(tags)
+                .register(registry);
+        bindQuantiles(registry, PREFIX + "batch.size", "每批发送条数", tags, channel,
+                c -> c.getBatchSize().getP50(), c -> c.getBatchSize().getP99(), c -> c.getBatchSize().getMax(), 1);
+        bindQuantiles(registry, PREFIX + "queue.latency", "批次首条日志入队到发送完成的延迟（秒）", tags, channel,
+                c -> c.getQueueLatency().getP50(), c -> c.getQueueLatency().getP99(), c -> c.getQueueLatency().getMax(),
+                TimeUnit.SECONDS.toNanos(1));
+    }
+
+    private void bindDelivery(MeterRegistry registry, Tags appTags, DeliveryStats stats) {
+        Tags tags = appTags.and("topic", stats.getTopic());
+        FunctionCounter.builder(PREFIX + "sent", stats, DeliveryStats::getSent).tags(tags).register(registry);
+        FunctionCounter.builder(PREFIX + "acked", stats, DeliveryStats::getAcked).tags(tags).register(registry);
+        FunctionCounter.builder(PREFIX + "failed", stats, DeliveryStats::getFailed).tags(tags).register(registry);
+        Gauge.builder(PREFIX + "in.flight", stats, DeliveryStats::getInFlight).tags(tags).register(registry);
+        bindQuantiles(registry, PREFIX + "send.latency", "发送到投递回调的延迟（秒）", tags, stats,
+                s -> s.getSendLatency().getP50(), s -> s.getSendLatency().getP99(), s -> s.getSendLatency().getMax(),
+                TimeUnit.SECONDS.toNanos(1));
+    }
+
+    private <T> void bindQuantiles(MeterRegistry registry, String name, String description, Tags tags, T source,
+                                   ToDoubleFunction<T> p50, ToDoubleFunction<T> p99, ToDoubleFunction<T> max,
+                                   double scale) {
+        Gauge.builder(name, source, s -> p50.applyAsDouble(s) / scale)
+                .description(description).tags(tags.and("quantile", "0.5")).register(registry);
+        Gauge.builder(name, source, s -> p99.applyAsDouble(s) / scale)
+                .description(description).tags(tags.and("quantile", "0.99")).register(registry);
+        Gauge.builder(name, source, s -> max.applyAsDouble(s) / scale)
+                .description(description).tags(tags.and("quantile", "1.0")).register(registry);
+    }
+
+    private static double stateValue(CircuitState state) {
+        switch (state) {
+            case HALF_OPEN:
+                return 1;
+            case OPEN:
+                return 2;
+            default:
+                return 0;
+        }
+    }
+}
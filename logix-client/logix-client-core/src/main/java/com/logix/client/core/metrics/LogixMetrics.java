@@ -0,0 +1,87 @@
+package com.logix.client.core.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 进程内分发器指标的注册表
+ * <p>
+ * 分发器创建时注册、关闭时注销，同时导出到平台MBeanServer；
+ * Micrometer等外部监控通过{@link #all()}读取，不在日志写入路径上做任何工作。
+ *
+ * @author Kanade
+ * @since 2026/10/18
+ */
+@Slf4j
+public final class LogixMetrics {
+
+    private static final String JMX_DOMAIN = "com.logix.client";
+
+    private static final List<DispatcherMetrics> REGISTERED = new CopyOnWriteArrayList<>();
+    private static final Map<DispatcherMetrics, ObjectName> OBJECT_NAMES = new ConcurrentHashMap<>();
+
+    private LogixMetrics() {
+    }
+
+    /**
+     * 注册分发器指标
+     *
+     * @param jmx 是否导出到JMX
+     */
+    public static void register(DispatcherMetrics metrics, boolean jmx) {
+        REGISTERED.add(metrics);
+        if (jmx) {
+            registerMBean(metrics);
+        }
+    }
+
+    public static void unregister(DispatcherMetrics metrics) {
+        REGISTERED.remove(metrics);
+        ObjectName objectName = OBJECT_NAMES.remove(metrics);
+        if (objectName != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+            } catch (Exception e) {
+                log.debug("[Metrics] JMX注销失败: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 当前已注册的全部分发器指标
+     */
+    public static List<DispatcherMetrics> all() {
+        return Collections.unmodifiableList(REGISTERED);
+    }
+
+    /**
+     * 同名分发器依次追加序号，避免覆盖
+     */
+    private static void registerMBean(DispatcherMetrics metrics) {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        String name = metrics.name() != null ? metrics.name() : "default";
+        for (int i = 1; i <= 16; i++) {
+            try {
+                ObjectName objectName = new ObjectName(JMX_DOMAIN + ":type=Dispatcher,name="
+                        + ObjectName.quote(i == 1 ? name : name + "#" + i));
+                server.registerMBean(metrics, objectName);
+                OBJECT_NAMES.put(metrics, objectName);
+                return;
+            } catch (InstanceAlreadyExistsException e) {
+                // 尝试下一个序号
+            } catch (Exception e) {
+                log.warn("[Metrics] JMX注册失败: {}", e.getMessage());
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.logix.client.core.metrics;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 类路径存在Micrometer时注册{@link LogixMeterBinder}，由Spring Boot Actuator绑定到MeterRegistry
+ *
+ * @author Kanade
+ * @since 2026/10/18
+ */
+@Configuration
+@ConditionalOnClass(name = "io.micrometer.core.instrument.binder.MeterBinder")
+public class LogixMetricsAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public LogixMeterBinder logixMeterBinder() {
+        return new LogixMeterBinder();
+    }
+}
@@ -0,0 +1,38 @@
+package com.logix.client.core.spill;
+
+import java.util.List;
+
+/**
+ * 从溢写文件读出的一批日志，发送成功后需调用{@link SpillStore#commit(SpillBatch)}推进读位置，
+ * 只发送成功前一部分时调用{@link SpillStore#commit(SpillBatch, int)}，避免已发送的日志被重复回放
+ *
+ * @author Kanade
+ * @since 2026/10/18
+ */
+public final class SpillBatch {
+
+    final SpillSegment segment;
+    private final int[] endPositions;
+    private final List<SpillRecord> records;
+
+    SpillBatch(SpillSegment segment, int[] endPositions, List<SpillRecord> records) {
+        this.segment = segment;
+        this.endPositions = endPositions;
+        this.records = records;
+    }
+
+    /**
+     * 前count条记录之后的文件位置
+     */
+    int endPosition(int count) {
+        return endPositions[count - 1];
+    }
+
+    public List<SpillRecord> getRecords() {
+        return records;
+    }
+
+    public boolean isEmpty() {
+        return records.isEmpty();
+    }
+}
@@ -0,0 +1,24 @@
+package com.logix.client.core.spill;
+
+import com.logix.common.enums.PayloadFormat;
+import lombok.Getter;
+
+/**
+ * 溢写文件中的一条日志
+ *
+ * @author Kanade
+ * @since 2026/10/18
+ */
+@Getter
+public final class SpillRecord {
+
+    private final String topic;
+    private final PayloadFormat format;
+    private final byte[] payload;
+
+    SpillRecord(String topic, PayloadFormat format, byte[] payload) {
+        this.topic = topic;
+        this.format = format;
+        this.payload = payload;
+    }
+}
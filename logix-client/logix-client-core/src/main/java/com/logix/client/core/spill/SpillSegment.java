@@ -0,0 +1,264 @@
+package com.logix.client.core.spill;
+
+import com.logix.common.enums.PayloadFormat;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 溢写段文件，整段内存映射，只追加
+ * <p>
+ * 文件头：magic(4) + 已消费位置(4)。记录：payload长度(4) + 格式(1) + topic长度(1) + topic + payload。
+ * 先写记录体再写长度，长度为0即表示段内数据结束，进程崩溃后按此恢复写位置。
+ * <p>
+ * 除恢复外，段的所有访问都由{@link SpillStore}持锁进行，删除时可以安全地解除映射。
+ *
+ * @author Kanade
+ * @since 2026/10/18
+ */
+final class SpillSegment {
+
+    static final String SUFFIX = ".wal";
+
+    private static final int MAGIC = 0x4C475731;
+    private static final int READ_POSITION_OFFSET = 4;
+    static final int HEADER_SIZE = 8;
+    static final int RECORD_OVERHEAD = 6;
+
+    /**
+     * 解除内存映射的方法，当前JVM不支持时为null，映射在缓冲区被回收时释放
+     */
+    private static final Unmapper UNMAPPER = createUnmapper();
+
+    final long id;
+    private final File file;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+
+    /**
+     * 写位置由追加线程在锁内更新，读线程只读取到该位置为止
+     */
+    private volatile int writePosition;
+    private int readPosition;
+    private int unreadRecords;
+
+    /**
+     * 已读出、尚未确认的条数，回放线程同一时刻只有一个未确认批次
+     */
+    private int polledRecords;
+    boolean deleted;
+
+    private SpillSegment(long id, File file, int capacity) throws IOException {
+        this.id = id;
+        this.file = file;
+        this.capacity = capacity;
+        // 映射建立后即可关闭文件，映射在缓冲区被回收前一直有效
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            if (raf.length() != capacity) {
+                raf.setLength(capacity);
+            }
+            this.buffer = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        }
+    }
+
+    static SpillSegment create(File directory, long id, int capacity) throws IOException {
+        SpillSegment segment = new SpillSegment(id, new File(directory, fileName(id)), capacity);
+        segment.buffer.putInt(0, MAGIC);
+        segment.buffer.putInt(READ_POSITION_OFFSET, HEADER_SIZE);
+        segment.readPosition = HEADER_SIZE;
+        segment.writePosition = HEADER_SIZE;
+        return segment;
+    }
+
+    /**
+     * 打开已有段并恢复读写位置，文件损坏时返回null
+     */
+    static SpillSegment recover(File file, long id) throws IOException {
+        int capacity = (int) Math.min(file.length(), Integer.MAX_VALUE);
+        if (capacity < HEADER_SIZE) {
+            return null;
+        }
+        SpillSegment segment = new SpillSegment(id, file, capacity);
+        int readPosition = segment.buffer.getInt(READ_POSITION_OFFSET);
+        if (segment.buffer.getInt(0) != MAGIC || readPosition < HEADER_SIZE || readPosition > capacity) {
+            return null;
+        }
+        int position = readPosition;
+        int records = 0;
+        while (true) {
+            int next = segment.nextRecord(position, capacity);
+            if (next < 0) {
+                break;
+            }
+            position = next;
+            records++;
+        }
+        segment.readPosition = readPosition;
+        segment.writePosition = position;
+        segment.unreadRecords = records;
+        return segment;
+    }
+
+    /**
+     * 独立读写位置的视图；经ByteBuffer/Buffer调用，避免链接到Java 9+新增的协变返回方法，保证在Java 8上运行
+     */
+    private ByteBuffer view() {
+        return ((ByteBuffer) buffer).duplicate();
+    }
+
+    static String fileName(long id) {
+        return String.format("%020d%s", id, SUFFIX);
+    }
+
+    /**
+     * 追加一条记录，空间不足时返回false
+     */
+    boolean append(byte[] topic, PayloadFormat format, byte[] payload) {
+        int position = writePosition;
+        int size = RECORD_OVERHEAD + topic.length + payload.length;
+        if (position + size > capacity) {
+            return false;
+        }
+        ByteBuffer view = view();
+        ((Buffer) view).position(position + 4);
+        view.put((byte) format.getCode());
+        view.put((byte) topic.length);
+        view.put(topic);
+        view.put(payload);
+        buffer.putInt(position, payload.length);
+        unreadRecords++;
+        writePosition = position + size;
+        return true;
+    }
+
+    /**
+     * 从已消费位置开始读取，最多max条
+     */
+    SpillBatch read(int max, List<SpillRecord> records) {
+        int position = readPosition;
+        int limit = writePosition;
+        ByteBuffer view = view();
+        int[] endPositions = new int[Math.max(1, Math.min(max, unreadRecords))];
+        while (records.size() < max && position < limit) {
+            ((Buffer) view).position(position);
+            int length = view.getInt();
+            PayloadFormat format = PayloadFormat.fromCode(view.get());
+            byte[] topic = new byte[view.get() & 0xFF];
+            view.get(topic);
+            byte[] payload = new byte[length];
+            view.get(payload);
+            position = view.position();
+            if (records.size() == endPositions.length) {
+                endPositions = Arrays.copyOf(endPositions, endPositions.length << 1);
+            }
+            endPositions[records.size()] = position;
+            records.add(new SpillRecord(new String(topic, StandardCharsets.UTF_8), format, payload));
+        }
+        polledRecords = records.size();
+        return new SpillBatch(this, endPositions, records);
+    }
+
+    void commit(int position, int records) {
+        readPosition = position;
+        unreadRecords = Math.max(0, unreadRecords - records);
+        polledRecords = 0;
+        buffer.putInt(READ_POSITION_OFFSET, position);
+    }
+
+    boolean isFullyRead() {
+        return readPosition >= writePosition;
+    }
+
+    int unreadRecords() {
+        return unreadRecords;
+    }
+
+    /**
+     * 未被读出的条数，淘汰时这些日志才是真正丢失的
+     */
+    int unpolledRecords() {
+        return Math.max(0, unreadRecords - polledRecords);
+    }
+
+    /**
+     * 解除映射并删除文件，之后不能再访问该段
+     */
+    void delete() {
+        deleted = true;
+        unmap();
+        if (!file.delete()) {
+            file.deleteOnExit();
+        }
+    }
+
+    void flush() {
+        buffer.force();
+    }
+
+    private void unmap() {
+        if (UNMAPPER == null) {
+            return;
+        }
+        try {
+            UNMAPPER.unmap(buffer);
+        } catch (Exception ignored) {
+            // 解除失败时映射在缓冲区被回收时释放
+        }
+    }
+
+    /**
+     * Java 9+使用Unsafe.invokeCleaner，Java 8使用DirectBuffer.cleaner()
+     */
+    private static Unmapper createUnmapper() {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            Object unsafe = field.get(null);
+            return buffer -> invokeCleaner.invoke(unsafe, buffer);
+        } catch (Exception ignored) {
+            // Java 8
+        }
+        try {
+            Method cleanerMethod = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+            Method cleanMethod = Class.forName("sun.misc.Cleaner").getMethod("clean");
+            return buffer -> {
+                Object cleaner = cleanerMethod.invoke(buffer);
+                if (cleaner != null) {
+                    cleanMethod.invoke(cleaner);
+                }
+            };
+        } catch (Exception ignored) {
+            return null;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Unmapper {
+        void unmap(MappedByteBuffer buffer) throws Exception;
+    }
+
+    private int nextRecord(int position, int limit) {
+        if (position + RECORD_OVERHEAD > limit) {
+            return -1;
+        }
+        int length = buffer.getInt(position);
+        if (length <= 0) {
+            return -1;
+        }
+        int topicLength = buffer.get(position + 5) & 0xFF;
+        long next = (long) position + RECORD_OVERHEAD + topicLength + length;
+        return next > limit ? -1 : (int) next;
+    }
+}
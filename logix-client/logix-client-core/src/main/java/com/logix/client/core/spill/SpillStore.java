@@ -0,0 +1,230 @@
+package com.logix.client.core.spill;
+
+import com.logix.common.enums.PayloadFormat;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 本地磁盘溢写存储
+ * <p>
+ * 队列已满或Kafka不可用时，日志追加到按段切分、内存映射的只追加文件中，写入只是一次内存拷贝，
+ * 不阻塞在磁盘I/O上。总大小超过上限时淘汰最旧的段。读取只由单个回放线程执行，
+ * 消费位置写入段头，进程重启后未回放的数据仍然保留。
+ * <p>
+ * 段的读写、淘汰与删除都在同一把锁内进行，段删除时立即解除内存映射，不会读到已淘汰或已解除映射的段。
+ *
+ * @author Kanade
+ * @since 2026/10/18
+ */
+@Slf4j
+public final class SpillStore implements AutoCloseable {
+
+    private final File directory;
+    private final int segmentSize;
+    private final int maxSegments;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Deque<SpillSegment> segments = new ArrayDeque<>();
+    private SpillSegment active;
+    private long nextId;
+
+    private final LongAdder appended = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * @param segmentSize 单个段文件大小（字节）
+     * @param maxSize     所有段文件的总大小上限（字节）
+     */
+    public SpillStore(File directory, int segmentSize, long maxSize) throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("无法创建溢写目录: " + directory);
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.maxSegments = (int) Math.max(2, maxSize / segmentSize);
+        recover();
+    }
+
+    /**
+     * 追加一条日志
+     *
+     * @return 是否写入成功；单条超过段大小时返回false
+     */
+    public boolean append(String topic, PayloadFormat format, byte[] payload) {
+        byte[] topicBytes = topic.getBytes(StandardCharsets.UTF_8);
+        if (payload.length == 0 || topicBytes.length > 0xFF
+                || SpillSegment.HEADER_SIZE + SpillSegment.RECORD_OVERHEAD + topicBytes.length + payload.length > segmentSize) {
+            rejected.increment();
+            return false;
+        }
+
+        lock.lock();
+        try {
+            if (active == null || !active.append(topicBytes, format, payload)) {
+                roll();
+                if (!active.append(topicBytes, format, payload)) {
+                    rejected.increment();
+                    return false;
+                }
+            }
+            appended.increment();
+            return true;
+        } catch (IOException e) {
+            log.debug("[Spill] 创建段文件失败: {}", e.getMessage());
+            rejected.increment();
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 从最旧的段读取一批日志，不推进消费位置
+     * <p>
+     * 持锁拷贝，避免读取期间该段被写入线程淘汰；一批只有回放批次大小的数据，持锁时间很短。
+     */
+    public SpillBatch poll(int max) {
+        lock.lock();
+        try {
+            SpillSegment oldest;
+            while ((oldest = segments.peekFirst()) != null && oldest.isFullyRead() && oldest != active) {
+                segments.pollFirst();
+                oldest.delete();
+            }
+            if (oldest == null) {
+                return new SpillBatch(null, new int[0], new ArrayList<>(0));
+            }
+            return oldest.read(max, new ArrayList<>(Math.min(max, oldest.unreadRecords())));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 确认一批日志已投递，推进消费位置并删除已读完的段
+     */
+    public void commit(SpillBatch batch) {
+        commit(batch, batch.getRecords().size());
+    }
+
+    /**
+     * 确认一批日志的前records条已投递，其后的日志下次从这里重新读取
+     */
+    public void commit(SpillBatch batch, int records) {
+        if (batch.segment == null || records <= 0) {
+            return;
+        }
+        lock.lock();
+        try {
+            SpillSegment segment = batch.segment;
+            if (segment.deleted) {
+                return;
+            }
+            segment.commit(batch.endPosition(records), records);
+            if (segment.isFullyRead() && segment != active) {
+                segments.remove(segment);
+                segment.delete();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 待回放的日志条数
+     */
+    public long pending() {
+        lock.lock();
+        try {
+            long total = 0;
+            for (SpillSegment segment : segments) {
+                total += segment.unreadRecords();
+            }
+            return total;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getAppended() {
+        return appended.sum();
+    }
+
+    /**
+     * 因总大小超限被淘汰、未能回放的日志条数
+     */
+    public long getEvicted() {
+        return evicted.sum();
+    }
+
+    /**
+     * 无法写入溢写文件的日志条数
+     */
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            for (SpillSegment segment : segments) {
+                segment.flush();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void roll() throws IOException {
+        while (segments.size() >= maxSegments) {
+            SpillSegment oldest = segments.pollFirst();
+            // 已读出的批次正在回放，不计为淘汰
+            evicted.add(oldest.unpolledRecords());
+            oldest.delete();
+            log.debug("[Spill] 溢写空间已满，淘汰段文件: {}", oldest.id);
+        }
+        active = SpillSegment.create(directory, nextId++, segmentSize);
+        segments.addLast(active);
+    }
+
+    private void recover() throws IOException {
+        File[] files = directory.listFiles((dir, name) -> name.endsWith(SpillSegment.SUFFIX));
+        if (files == null) {
+            return;
+        }
+        Arrays.sort(files);
+        for (File file : files) {
+            long id;
+            try {
+                id = Long.parseLong(file.getName().substring(0, file.getName().length() - SpillSegment.SUFFIX.length()));
+            } catch (NumberFormatException e) {
+                continue;
+            }
+            nextId = Math.max(nextId, id + 1);
+            SpillSegment segment = SpillSegment.recover(file, id);
+            if (segment == null || segment.isFullyRead()) {
+                if (!file.delete()) {
+                    log.debug("[Spill] 删除段文件失败: {}", file);
+                }
+                continue;
+            }
+            segments.addLast(segment);
+        }
+        // 恢复的段不再追加，新数据写入新段，避免与崩溃前的半条记录相接
+        active = null;
+        if (!segments.isEmpty()) {
+            log.info("[Spill] 恢复{}个溢写段，待回放{}条日志", segments.size(), pending());
+        }
+    }
+}
@@ -11,5 +11,23 @@ import com.alibaba.ttl.TransmittableThreadLocal;
 public class TraceContext {
 
     public static TransmittableThreadLocal<String> currentTraceID = new TransmittableThreadLocal<>();
-    public static TransmittableThreadLocal<TraceMessage> currentTraceMessage = new TransmittableThreadLocal<>();
+    public static TransmittableThreadLocal<TraceMessage> currentTraceMessage = new TraceMessageLocal();
+    public static TransmittableThreadLocal<TraceSampling> currentSampling = new TransmittableThreadLocal<>();
+    public static TransmittableThreadLocal<String> currentSpanId = new TransmittableThreadLocal<>();
+
+    /**
+     * 子线程与异步任务得到父线程TraceMessage的副本，而不是共享同一个深度计数
+     */
+    private static final class TraceMessageLocal extends TransmittableThreadLocal<TraceMessage> {
+
+        @Override
+        public TraceMessage copy(TraceMessage parentValue) {
+            return parentValue != null ? parentValue.copy() : null;
+        }
+
+        @Override
+        protected TraceMessage childValue(TraceMessage parentValue) {
+            return parentValue != null ? parentValue.copy() : null;
+        }
+    }
 }
@@ -0,0 +1,75 @@
+package com.logix.client.core.trace;
+
+import com.logix.client.core.logging.LogEventBuilder;
+import com.logix.client.core.logging.LogEventDispatcher;
+import com.logix.client.core.logging.LogPayloadSerializer;
+import com.logix.client.core.logging.PendingLog;
+
+/**
+ * 链路事件直投入口
+ * <p>
+ * 切面直接把链路事件交给Appender持有的分发器，不再经过日志框架格式化和解析。
+ * Appender启动时注册，停止时注销；未注册时链路事件直接忽略。
+ *
+ * @author Kanade
+ * @since 2026/10/18
+ */
+public final class TraceLogPublisher {
+
+    private static volatile Target target;
+
+    private TraceLogPublisher() {
+    }
+
+    /**
+     * 注册分发器，多个Appender时以最后注册的为准
+     */
+    public static void register(String appName, String env, LogEventDispatcher dispatcher) {
+        target = new Target(appName, env, dispatcher);
+    }
+
+    /**
+     * 注销分发器，仅当其仍为当前注册的分发器时生效
+     */
+    public static void unregister(LogEventDispatcher dispatcher) {
+        Target current = target;
+        if (current != null && current.dispatcher == dispatcher) {
+            target = null;
+        }
+    }
+
+    public static boolean isEnabled() {
+        return target != null;
+    }
+
+    /**
+     * 投递一次完整的方法调用，事件在分发线程中构造与序列化
+     *
+     * @param parentSpanId 父调用ID，根调用为null
+     * @param startTime    方法开始时间
+     * @param duration     耗时（毫秒）
+     */
+    public static void publishSpan(String traceId, String spanId, String parentSpanId, String signature, int depth,
+                                   long startTime, long duration) {
+        Target current = target;
+        if (current == null) {
+            return;
+        }
+        current.dispatcher.publishTraceLog(PendingLog.keyed(traceId, format -> LogPayloadSerializer.serialize(format,
+                LogEventBuilder.createTraceSpan(current.appName, current.env, traceId, spanId, parentSpanId,
+                        signature, depth, startTime, duration), null)));
+    }
+
+    private static final class Target {
+
+        private final String appName;
+        private final String env;
+        private final LogEventDispatcher dispatcher;
+
+        private Target(String appName, String env, LogEventDispatcher dispatcher) {
+            this.appName = appName;
+            this.env = env;
+            this.dispatcher = dispatcher;
+        }
+    }
+}
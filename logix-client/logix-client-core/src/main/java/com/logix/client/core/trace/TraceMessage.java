@@ -31,7 +31,20 @@ public class TraceMessage {
     private String position;
 
     /**
-     * 调用深度
+     * 调用深度，每个线程持有自己的计数，见{@link #copy()}
      */
     private AtomicInteger depth = new AtomicInteger(0);
+
+    /**
+     * 传递到子线程或异步任务时的副本：深度从父线程当前值开始独立计数，
+     * 避免父子线程并发进出切面时互相修改对方的深度
+     */
+    public TraceMessage copy() {
+        TraceMessage copy = new TraceMessage();
+        copy.traceId = traceId;
+        copy.signature = signature;
+        copy.position = position;
+        copy.depth = new AtomicInteger(depth.get());
+        return copy;
+    }
 }
\ No newline at end of file
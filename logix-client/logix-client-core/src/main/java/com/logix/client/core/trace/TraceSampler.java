@@ -0,0 +1,70 @@
+package com.logix.client.core.trace;
+
+import com.logix.client.core.logging.LogRateLimiter;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 链路入口采样器
+ * <p>
+ * 每条链路只在入口决定一次：请求头强制优先，其次按概率抽样，再受每秒链路数上限约束。
+ * 未被选中的链路在开启错误偏置时延迟决定，只保留出错或慢的请求。
+ *
+ * @author Kanade
+ * @since 2026/10/18
+ */
+public final class TraceSampler {
+
+    /**
+     * 全部采样，与未配置采样时的行为一致
+     */
+    public static final TraceSampler ALWAYS = new TraceSampler(1.0, 0, false, 0, 0);
+
+    private final double probability;
+    private final LogRateLimiter rateLimiter;
+    private final boolean errorBiased;
+    private final long latencyThresholdMs;
+    private final int maxBufferedSpans;
+
+    /**
+     * @param probability        采样概率，取值0到1
+     * @param maxTracesPerSecond 每秒最多采样的链路数，0不限制
+     * @param errorBiased        未采样的链路是否缓存，出错或慢请求时仍投递
+     * @param latencyThresholdMs 错误偏置模式下的慢请求阈值（毫秒）
+     * @param maxBufferedSpans   错误偏置模式下每条链路最多缓存的SPAN数
+     */
+    public TraceSampler(double probability, int maxTracesPerSecond, boolean errorBiased,
+                        long latencyThresholdMs, int maxBufferedSpans) {
+        this.probability = probability;
+        this.rateLimiter = maxTracesPerSecond > 0
+                ? new LogRateLimiter(maxTracesPerSecond, maxTracesPerSecond, 1) : null;
+        this.errorBiased = errorBiased;
+        this.latencyThresholdMs = latencyThresholdMs;
+        this.maxBufferedSpans = maxBufferedSpans;
+    }
+
+    /**
+     * 决定一条链路是否采样
+     *
+     * @param forced 上游传入的强制采样标记：1采样，0不采样，其他值或null按规则决定
+     */
+    public TraceSampling decide(String forced) {
+        if ("1".equals(forced)) {
+            return TraceSampling.SAMPLED;
+        }
+        if ("0".equals(forced)) {
+            return TraceSampling.DROPPED;
+        }
+        if (sampled()) {
+            return TraceSampling.SAMPLED;
+        }
+        return errorBiased ? TraceSampling.deferred(maxBufferedSpans, latencyThresholdMs) : TraceSampling.DROPPED;
+    }
+
+    private boolean sampled() {
+        if (probability < 1.0 && (probability <= 0 || ThreadLocalRandom.current().nextDouble() >= probability)) {
+            return false;
+        }
+        return rateLimiter == null || rateLimiter.tryAcquire(null, null) != LogRateLimiter.DENIED;
+    }
+}
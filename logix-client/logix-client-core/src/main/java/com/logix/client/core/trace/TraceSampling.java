@@ -0,0 +1,129 @@
+package com.logix.client.core.trace;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 单条链路的采样决定
+ * <p>
+ * 在入口处决定一次，随{@link TraceContext#currentSampling}传递到后续调用与子线程。
+ * 延迟决定的链路先把SPAN缓存在内存中，请求结束时出错或超过耗时阈值才投递，否则丢弃。
+ *
+ * @author Kanade
+ * @since 2026/10/18
+ */
+public final class TraceSampling {
+
+    /**
+     * 采样：SPAN直接投递
+     */
+    public static final TraceSampling SAMPLED = new TraceSampling(Decision.SAMPLED, 0, 0);
+
+    /**
+     * 不采样：切面直接放行
+     */
+    public static final TraceSampling DROPPED = new TraceSampling(Decision.DROPPED, 0, 0);
+
+    private final Decision decision;
+    private final int maxSpans;
+    private final long latencyThresholdNanos;
+    private final long startNanos;
+    private final List<Span> spans;
+    private volatile boolean error;
+
+    private TraceSampling(Decision decision, int maxSpans, long latencyThresholdMs) {
+        this.decision = decision;
+        this.maxSpans = maxSpans;
+        this.latencyThresholdNanos = TimeUnit.MILLISECONDS.toNanos(latencyThresholdMs);
+        this.startNanos = System.nanoTime();
+        this.spans = decision == Decision.DEFERRED ? new ArrayList<>() : null;
+    }
+
+    /**
+     * 延迟决定：缓存SPAN，请求结束时再决定是否投递
+     *
+     * @param maxSpans           最多缓存的SPAN数，超出部分丢弃
+     * @param latencyThresholdMs 耗时阈值（毫秒），达到即投递
+     */
+    public static TraceSampling deferred(int maxSpans, long latencyThresholdMs) {
+        return new TraceSampling(Decision.DEFERRED, maxSpans, latencyThresholdMs);
+    }
+
+    public boolean isDropped() {
+        return decision == Decision.DROPPED;
+    }
+
+    public boolean isDeferred() {
+        return decision == Decision.DEFERRED;
+    }
+
+    /**
+     * 标记链路出错，结束时必定投递
+     */
+    public void markError() {
+        this.error = true;
+    }
+
+    /**
+     * 缓存一次方法调用，链路可能跨线程，需同步
+     */
+    public void record(String traceId, String spanId, String parentSpanId, String signature, int depth,
+                       long startTime, long duration) {
+        synchronized (spans) {
+            if (spans.size() < maxSpans) {
+                spans.add(new Span(traceId, spanId, parentSpanId, signature, depth, startTime, duration));
+            }
+        }
+    }
+
+    /**
+     * 链路结束：出错或超过耗时阈值时投递缓存的SPAN
+     *
+     * @return 是否投递
+     */
+    public boolean complete() {
+        if (decision != Decision.DEFERRED) {
+            return false;
+        }
+        boolean keep = error || System.nanoTime() - startNanos >= latencyThresholdNanos;
+        synchronized (spans) {
+            if (keep) {
+                for (Span span : spans) {
+                    TraceLogPublisher.publishSpan(span.traceId, span.spanId, span.parentSpanId, span.signature,
+                            span.depth, span.startTime, span.duration);
+                }
+            }
+            spans.clear();
+        }
+        return keep;
+    }
+
+    private enum Decision {
+        SAMPLED,
+        DEFERRED,
+        DROPPED
+    }
+
+    private static final class Span {
+
+        private final String traceId;
+        private final String spanId;
+        private final String parentSpanId;
+        private final String signature;
+        private final int depth;
+        private final long startTime;
+        private final long duration;
+
+        private Span(String traceId, String spanId, String parentSpanId, String signature, int depth,
+                     long startTime, long duration) {
+            this.traceId = traceId;
+            this.spanId = spanId;
+            this.parentSpanId = parentSpanId;
+            this.signature = signature;
+            this.depth = depth;
+            this.startTime = startTime;
+            this.duration = duration;
+        }
+    }
+}
@@ -12,4 +12,12 @@ import java.lang.annotation.*;
 @Target(ElementType.METHOD)
 @Retention(RetentionPolicy.RUNTIME)
 public @interface Trace {
-}
\ No newline at end of file
+
+    /**
+     * 该方法的采样率，取值0到1，调用频繁且不关心的方法可调低
+     * <p>
+     * 按TraceId决定，同一链路中该方法的调用要么全部记录、要么全部不记录；
+     * 未记录时其子调用在链路树中显示为独立的子树。
+     */
+    double sampleRate() default 1.0;
+}
@@ -1,46 +1,80 @@
 package com.logix.client.core.trace.aspect;
 
 import com.logix.client.core.trace.TraceContext;
+import com.logix.client.core.trace.TraceLogPublisher;
 import com.logix.client.core.trace.TraceMessage;
-import com.logix.common.util.JsonUtils;
-import lombok.extern.slf4j.Slf4j;
+import com.logix.client.core.trace.TraceSampling;
+import com.logix.common.util.IdUtils;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.ProceedingJoinPoint;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
-import com.logix.common.constants.LogixConstants;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 链路追踪打点拦截
+ * <p>
+ * 每次方法调用在结束时（包括抛出异常）投递一条带开始时间与耗时的SPAN事件，
+ * 直接交给分发器，不经过日志框架。未采样的链路只读取两个线程上下文即放行，
+ * 延迟决定的链路把SPAN缓存到{@link TraceSampling}中。
+ * <p>
+ * 按方法采样率未记录的调用仍占用一层SpanId与深度，不投递SPAN，子调用的父SpanId保持为该调用，
+ * 链路树中这些子调用显示为独立的子树，而不会被错误地挂到上一层。
  *
  * @author Kanade
  * @since 2025/10/16
  */
-@Slf4j
 public abstract class AbstractAspect {
 
     public Object aroundExecute(JoinPoint joinPoint) throws Throwable {
-        TraceMessage traceMessage = TraceContext.currentTraceMessage.get();
+        ProceedingJoinPoint proceedingJoinPoint = (ProceedingJoinPoint) joinPoint;
         String traceId = TraceContext.currentTraceID.get();
+        TraceSampling sampling = TraceContext.currentSampling.get();
+        if (traceId == null || (sampling != null && sampling.isDropped()) || !TraceLogPublisher.isEnabled()) {
+            return proceedingJoinPoint.proceed();
+        }
+        TraceMethodMetadata metadata = TraceMethodMetadata.of(joinPoint);
+        boolean recorded = metadata.sample(traceId);
+
+        TraceMessage traceMessage = TraceContext.currentTraceMessage.get();
         if (traceMessage == null) {
             traceMessage = new TraceMessage();
-            traceMessage.getDepth().set(0);
+            TraceContext.currentTraceMessage.set(traceMessage);
         }
-        traceMessage.setSignature(joinPoint.getSignature().toString());
-        traceMessage.setPosition(LogixConstants.Trace.START);
-        traceMessage.getDepth().incrementAndGet();
-        TraceContext.currentTraceMessage.set(traceMessage);
-        if (traceId != null) {
-            log.info(LogixConstants.Trace.PREFIX + "{}", JsonUtils.toJson(traceMessage));
+        // depth为嵌套层级、currentSpanId为当前调用：进入时更新，退出时恢复
+        int depth = traceMessage.getDepth().incrementAndGet();
+        String parentSpanId = TraceContext.currentSpanId.get();
+        String spanId = IdUtils.generateSpanId();
+        TraceContext.currentSpanId.set(spanId);
+        long startTime = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
+        try {
+            return proceedingJoinPoint.proceed();
+        } catch (Throwable e) {
+            if (sampling != null) {
+                sampling.markError();
+            }
+            throw e;
+        } finally {
+            traceMessage.getDepth().decrementAndGet();
+            restoreSpanId(parentSpanId);
+            if (recorded) {
+                long duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+                if (sampling != null && sampling.isDeferred()) {
+                    sampling.record(traceId, spanId, parentSpanId, metadata.getSignature(), depth, startTime,
+                            duration);
+                } else {
+                    TraceLogPublisher.publishSpan(traceId, spanId, parentSpanId, metadata.getSignature(), depth,
+                            startTime, duration);
+                }
+            }
         }
-        Object proceed = ((ProceedingJoinPoint) joinPoint).proceed();
-        traceMessage.setSignature(joinPoint.getSignature().toString());
-        traceMessage.setPosition(LogixConstants.Trace.END);
-        traceMessage.getDepth().incrementAndGet();
-        if (traceId != null) {
-            log.info(LogixConstants.Trace.PREFIX + "{}", JsonUtils.toJson(traceMessage));
+    }
+
+    private static void restoreSpanId(String parentSpanId) {
+        if (parentSpanId != null) {
+            TraceContext.currentSpanId.set(parentSpanId);
+        } else {
+            TraceContext.currentSpanId.remove();
         }
-        return proceed;
     }
 }
@@ -0,0 +1,129 @@
+package com.logix.client.core.trace.aspect;
+
+import com.logix.client.core.trace.annotation.Trace;
+import lombok.Getter;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.Signature;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.annotation.AnnotationUtils;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 被追踪方法的元数据
+ * <p>
+ * 签名字符串、方法编号与采样配置在方法首次调用时计算并按{@link Method}缓存，
+ * 之后每次调用只需一次Map查找，不再重复拼接签名。
+ * JDK代理的切点方法是接口方法，注解按目标类上最具体的实现方法解析，并按目标类分别缓存。
+ *
+ * @author Kanade
+ * @since 2026/10/18
+ */
+@Getter
+public final class TraceMethodMetadata {
+
+    private static final Map<Method, TraceMethodMetadata> CACHE = new ConcurrentHashMap<>();
+    private static final Map<Method, Map<Class<?>, TraceMethodMetadata>> INTERFACE_CACHE = new ConcurrentHashMap<>();
+    private static final AtomicInteger ID_GENERATOR = new AtomicInteger();
+
+    /**
+     * 方法编号，进程内唯一，作为采样哈希中代表方法的键
+     */
+    private final int id;
+
+    /**
+     * 方法完整签名
+     */
+    private final String signature;
+
+    /**
+     * 方法采样率
+     */
+    private final double sampleRate;
+
+    /**
+     * 采样阈值，TraceId与方法编号的混合哈希（31位）小于该值时记录
+     */
+    private final long sampleThreshold;
+
+    private TraceMethodMetadata(int id, String signature, double sampleRate) {
+        this.id = id;
+        this.signature = signature;
+        this.sampleRate = sampleRate;
+        this.sampleThreshold = (long) (Math.max(0.0, Math.min(1.0, sampleRate)) * (1L << 31));
+    }
+
+    /**
+     * 获取切点方法的元数据
+     */
+    public static TraceMethodMetadata of(JoinPoint joinPoint) {
+        Signature signature = joinPoint.getSignature();
+        if (!(signature instanceof MethodSignature)) {
+            return create(signature, null);
+        }
+        Method method = ((MethodSignature) signature).getMethod();
+        Object target = joinPoint.getTarget();
+        if (target == null || !method.getDeclaringClass().isInterface()) {
+            return lookup(CACHE, method, signature, method);
+        }
+        Map<Class<?>, TraceMethodMetadata> byTarget = INTERFACE_CACHE.get(method);
+        if (byTarget == null) {
+            byTarget = INTERFACE_CACHE.computeIfAbsent(method, key -> new ConcurrentHashMap<>());
+        }
+        Class<?> targetClass = target.getClass();
+        TraceMethodMetadata metadata = byTarget.get(targetClass);
+        if (metadata == null) {
+            metadata = byTarget.computeIfAbsent(targetClass,
+                    key -> create(signature, AopUtils.getMostSpecificMethod(method, key)));
+        }
+        return metadata;
+    }
+
+    /**
+     * 本条链路中是否记录该方法
+     * <p>
+     * 由TraceId与方法编号决定，同一进程内该方法在同一链路中的每次调用、以及跨线程的调用结果都相同，
+     * 不同链路之间按采样率分布。
+     */
+    public boolean sample(String traceId) {
+        if (sampleThreshold >= (1L << 31)) {
+            return true;
+        }
+        if (sampleThreshold == 0) {
+            return false;
+        }
+        return (mix(traceId.hashCode() * 31 + id) & Integer.MAX_VALUE) < sampleThreshold;
+    }
+
+    private static TraceMethodMetadata lookup(Map<Method, TraceMethodMetadata> cache, Method key,
+                                              Signature signature, Method method) {
+        // 先get再computeIfAbsent，避免Java 8中命中时也对桶加锁
+        TraceMethodMetadata metadata = cache.get(key);
+        if (metadata == null) {
+            metadata = cache.computeIfAbsent(key, k -> create(signature, method));
+        }
+        return metadata;
+    }
+
+    private static TraceMethodMetadata create(Signature signature, Method method) {
+        Trace trace = method != null ? AnnotationUtils.findAnnotation(method, Trace.class) : null;
+        double sampleRate = trace != null ? trace.sampleRate() : 1.0;
+        return new TraceMethodMetadata(ID_GENERATOR.incrementAndGet(), signature.toString(), sampleRate);
+    }
+
+    /**
+     * MurmurHash3 fmix32
+     */
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
@@ -1,6 +1,8 @@
 package com.logix.client.core.trace.config;
 
+import com.logix.client.core.trace.TraceSampler;
 import com.logix.client.core.trace.interceptor.TraceIdInterceptor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.Ordered;
@@ -15,11 +17,20 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
  * @since 2025/10/18
  */
 @Configuration
+@EnableConfigurationProperties(TraceSamplingProperties.class)
 public class TraceIdConfig implements WebMvcConfigurer {
 
+    private final TraceSamplingProperties samplingProperties;
+
+    public TraceIdConfig(TraceSamplingProperties samplingProperties) {
+        this.samplingProperties = samplingProperties;
+    }
+
     @Bean
     public TraceIdInterceptor traceIdInterceptor() {
-        return new TraceIdInterceptor();
+        return new TraceIdInterceptor(new TraceSampler(samplingProperties.getProbability(),
+                samplingProperties.getMaxTracesPerSecond(), samplingProperties.isErrorBiased(),
+                samplingProperties.getLatencyThreshold(), samplingProperties.getMaxBufferedSpans()));
     }
 
     @Override
@@ -0,0 +1,42 @@
+package com.logix.client.core.trace.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 链路采样配置
+ *
+ * @author Kanade
+ * @since 2026/10/18
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "logix.trace.sampling")
+public class TraceSamplingProperties {
+
+    /**
+     * 采样概率，取值0到1
+     */
+    private double probability = 1.0;
+
+    /**
+     * 每秒最多采样的链路数，0不限制
+     */
+    private int maxTracesPerSecond;
+
+    /**
+     * 错误偏置：未采样的链路先缓存，出错或超过耗时阈值时仍投递
+     */
+    private boolean errorBiased;
+
+    /**
+     * 错误偏置模式下的慢请求阈值（毫秒）
+     */
+    private long latencyThreshold = 1000;
+
+    /**
+     * 错误偏置模式下每条链路最多缓存的SPAN数
+     */
+    private int maxBufferedSpans = 512;
+}
@@ -1,6 +1,8 @@
 package com.logix.client.core.trace.interceptor;
 
 import com.logix.client.core.trace.TraceContext;
+import com.logix.client.core.trace.TraceSampler;
+import com.logix.client.core.trace.TraceSampling;
 import com.logix.common.constants.LogixConstants;
 import com.logix.common.util.IdUtils;
 import org.springframework.util.StringUtils;
@@ -11,11 +13,24 @@ import javax.servlet.http.HttpServletResponse;
 
 /**
  * TraceId拦截器
+ * <p>
+ * 请求进入时生成或沿用TraceId并决定本条链路是否采样，请求结束时处理延迟决定的链路。
  *
  * @author Kanade
  * @since 2025/10/18
  */
 public class TraceIdInterceptor implements HandlerInterceptor {
+
+    private final TraceSampler sampler;
+
+    public TraceIdInterceptor() {
+        this(TraceSampler.ALWAYS);
+    }
+
+    public TraceIdInterceptor(TraceSampler sampler) {
+        this.sampler = sampler;
+    }
+
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
         String traceId = request.getHeader(LogixConstants.Trace.ID_KEY);
@@ -24,6 +39,28 @@ public class TraceIdInterceptor implements HandlerInterceptor {
         } else {
             TraceContext.currentTraceID.set(IdUtils.generateTraceId());
         }
+        String parentSpanId = request.getHeader(LogixConstants.Trace.SPAN_ID_KEY);
+        if (StringUtils.hasText(parentSpanId)) {
+            TraceContext.currentSpanId.set(parentSpanId);
+        } else {
+            TraceContext.currentSpanId.remove();
+        }
+        TraceContext.currentSampling.set(sampler.decide(request.getHeader(LogixConstants.Trace.SAMPLED_KEY)));
         return true;
     }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        TraceContext.currentSpanId.remove();
+        TraceSampling sampling = TraceContext.currentSampling.get();
+        if (sampling == null) {
+            return;
+        }
+        if (ex != null || response.getStatus() >= 500) {
+            sampling.markError();
+        }
+        sampling.complete();
+        TraceContext.currentSampling.remove();
+    }
 }
@@ -0,0 +1,123 @@
+package com.logix.client.log4j2;
+
+import com.logix.client.core.logging.LogEventBuilder;
+import com.logix.client.core.trace.TraceContext;
+import com.logix.client.core.trace.TraceMessage;
+import com.logix.common.constants.LogixConstants;
+import com.logix.common.enums.LogLevel;
+import com.logix.common.model.TraceLogEvent;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.message.Message;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+
+/**
+ * Log4j2事件到Logix事件的转换器
+ *
+ * @author Kanade
+ * @since 2026/10/18
+ */
+final class LogEventConverter {
+
+    private LogEventConverter() {
+    }
+
+    /**
+     * 判断是否为Trace日志，只检查模板，不做格式化
+     */
+    static boolean isTraceMessage(LogEvent event) {
+        Message message = event.getMessage();
+        if (message == null) {
+            return false;
+        }
+        String format = message.getFormat();
+        return format != null && format.startsWith(LogixConstants.Trace.PREFIX);
+    }
+
+    /**
+     * 当前线程是否为记录日志的业务线程，异步Logger下Appender在后台线程执行，
+     * 此时线程私有的链路上下文不属于该事件
+     */
+    static boolean onLoggingThread(LogEvent event) {
+        return event.getThreadId() == Thread.currentThread().getId();
+    }
+
+    /**
+     * 创建链路日志，链路上下文为线程私有，必须在业务线程中调用
+     */
+    static TraceLogEvent convertTraceLog(final String appName, final String env, final LogEvent event) {
+        String traceId = event.getContextData().getValue(LogixConstants.Trace.ID_KEY);
+        if (traceId != null) {
+            TraceContext.currentTraceID.set(traceId);
+        }
+        TraceMessage traceMessage = TraceContext.currentTraceMessage.get();
+        return LogEventBuilder.createTraceLog(traceMessage, appName, env, event.getTimeMillis());
+    }
+
+    /**
+     * 提取TraceID：优先取上下文数据，业务线程中再回退到链路上下文
+     */
+    static String extractTraceId(LogEvent event) {
+        String traceId = event.getContextData().getValue(LogixConstants.Trace.ID_KEY);
+        if (traceId == null && onLoggingThread(event)) {
+            return TraceContext.currentTraceID.get();
+        }
+        return traceId;
+    }
+
+    /**
+     * 提取方法名，仅在Logger开启includeLocation时由Log4j2计算调用位置
+     */
+    static String extractMethodName(LogEvent event) {
+        if (event.isIncludeLocation()) {
+            StackTraceElement source = event.getSource();
+            if (source != null) {
+                return source.getMethodName();
+            }
+        }
+        return "unknown";
+    }
+
+    /**
+     * 转换日志级别，FATAL归入ERROR
+     */
+    static LogLevel convertLogLevel(Level level) {
+        switch (level.getStandardLevel()) {
+            case TRACE:
+            case ALL:
+                return LogLevel.TRACE;
+            case DEBUG:
+                return LogLevel.DEBUG;
+            case WARN:
+                return LogLevel.WARN;
+            case ERROR:
+            case FATAL:
+                return LogLevel.ERROR;
+            default:
+                return LogLevel.INFO;
+        }
+    }
+
+    /**
+     * 只有ERROR和WARN级别输出异常堆栈
+     */
+    static boolean includesStackTrace(LogLevel logLevel) {
+        return logLevel == LogLevel.ERROR || logLevel == LogLevel.WARN;
+    }
+
+    /**
+     * 获取异常堆栈信息
+     */
+    static String errorStackTrace(Throwable throwable) {
+        try (StringWriter sw = new StringWriter();
+             PrintWriter pw = new PrintWriter(sw)) {
+            throwable.printStackTrace(pw);
+            return sw.toString();
+        } catch (IOException e) {
+            return throwable.toString();
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.logix.client.log4j2;
+
+import com.logix.client.core.logging.LogEventBuilder;
+import com.logix.client.core.logging.LogPayloadSerializer;
+import com.logix.client.core.logging.PendingLog;
+import com.logix.client.core.logging.StackTraceDeduplicator;
+import com.logix.common.enums.LogLevel;
+import com.logix.common.enums.PayloadFormat;
+import com.logix.common.model.RunLogEvent;
+import lombok.Getter;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.message.Message;
+import org.apache.logging.log4j.util.StringBuilderFormattable;
+import org.apache.logging.log4j.util.StringBuilders;
+import org.apache.logging.log4j.util.TriConsumer;
+
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 可复用的运行日志快照
+ * <p>
+ * Log4j2无垃圾模式下，LogEvent、消息对象与参数数组都会在Appender返回后被复用，因此消息必须在当前线程
+ * 格式化：通过{@link StringBuilderFormattable}直接写入快照持有的StringBuilder，上下文数据拷贝到预分配数组。
+ * 快照本身来自{@link SnapshotPool}，分发线程编码后归还，稳态下采集过程不分配对象。
+ * 堆栈渲染、字符串生成与序列化均在分发线程中完成。
+ *
+ * @author Kanade
+ * @since 2026/10/18
+ */
+final class LogEventSnapshot implements PendingLog {
+
+    private static final int MAX_REUSABLE_CONTENT = 4096;
+
+    private static final TriConsumer<String, Object, ContextData> COPY_CONTEXT =
+            (key, value, contextData) -> contextData.add(key, value);
+
+    private final SnapshotPool pool;
+    private final StringBuilder content = new StringBuilder(256);
+    private final ContextData contextData = new ContextData();
+
+    private String appName;
+    private String env;
+    private long timestamp;
+    @Getter
+    private LogLevel logLevel;
+    private String loggerName;
+    private String threadName;
+    private Throwable throwable;
+    private String traceId;
+    private String methodName;
+    private long seq;
+    private long repeated;
+    private StackTraceDeduplicator deduplicator;
+
+    LogEventSnapshot(SnapshotPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * 在Appender线程中采集事件，消息在此格式化
+     *
+     * @param deduplicator 堆栈去重器，为null时content中包含完整堆栈
+     * @param repeated     限流合并的重复条数
+     */
+    void capture(String appName, String env, LogEvent event, long seq, long repeated,
+                 StackTraceDeduplicator deduplicator) {
+        this.appName = appName;
+        this.env = env;
+        this.timestamp = event.getTimeMillis();
+        this.logLevel = LogEventConverter.convertLogLevel(event.getLevel());
+        this.loggerName = event.getLoggerName();
+        this.threadName = event.getThreadName();
+        this.throwable = event.getThrown();
+        this.traceId = LogEventConverter.extractTraceId(event);
+        this.methodName = LogEventConverter.extractMethodName(event);
+        this.seq = seq;
+        this.repeated = repeated;
+        this.deduplicator = deduplicator;
+
+        Message message = event.getMessage();
+        if (message instanceof StringBuilderFormattable) {
+            ((StringBuilderFormattable) message).formatTo(content);
+        } else if (message != null) {
+            content.append(message.getFormattedMessage());
+        }
+        event.getContextData().forEach(COPY_CONTEXT, contextData);
+    }
+
+    @Override
+    public byte[] encode(PayloadFormat format) {
+        try {
+            return LogPayloadSerializer.serialize(format, toRunLogEvent(), contextData.isEmpty() ? null : contextData);
+        } finally {
+            recycle();
+        }
+    }
+
+    RunLogEvent toRunLogEvent() {
+        String message = content.toString();
+        String fingerprint = null;
+        String stackTrace = null;
+        if (throwable != null && LogEventConverter.includesStackTrace(logLevel)) {
+            if (deduplicator != null) {
+                // content只保留异常首行，完整堆栈按指纹去重，仅首次或定期渲染上报
+                long hash = StackTraceDeduplicator.fingerprint(throwable);
+                fingerprint = StackTraceDeduplicator.toHex(hash);
+                message = message + "\n" + throwable;
+                if (deduplicator.shouldSendFull(hash)) {
+                    stackTrace = LogEventConverter.errorStackTrace(throwable);
+                }
+            } else {
+                message = message + "\n" + LogEventConverter.errorStackTrace(throwable);
+            }
+        }
+        if (repeated > 0) {
+            message = message + " [已合并" + repeated + "条重复日志]";
+        }
+        RunLogEvent runLogEvent = LogEventBuilder.createRunLog(appName, env, message, timestamp, traceId);
+        runLogEvent.setClassName(loggerName);
+        runLogEvent.setThreadName(threadName);
+        runLogEvent.setSeq(seq);
+        runLogEvent.setMethodName(methodName);
+        runLogEvent.setLogLevel(logLevel);
+        runLogEvent.setStackFingerprint(fingerprint);
+        runLogEvent.setStackTrace(stackTrace);
+        return runLogEvent;
+    }
+
+    /**
+     * 清空引用后归还对象池
+     */
+    void recycle() {
+        StringBuilders.trimToMaxSize(content, MAX_REUSABLE_CONTENT);
+        content.setLength(0);
+        contextData.clear();
+        throwable = null;
+        traceId = null;
+        deduplicator = null;
+        pool.release(this);
+    }
+
+    /**
+     * 上下文数据（MDC）副本，键值存于可复用数组，仅在分发线程中以Map视图读取
+     */
+    static final class ContextData extends AbstractMap<String, String> {
+
+        private String[] keys = new String[8];
+        private String[] values = new String[8];
+        private int size;
+
+        void add(String key, Object value) {
+            if (key == null || value == null) {
+                return;
+            }
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size << 1);
+                values = Arrays.copyOf(values, size << 1);
+            }
+            keys[size] = key;
+            values[size] = value instanceof String ? (String) value : String.valueOf(value);
+            size++;
+        }
+
+        @Override
+        public String get(Object key) {
+            for (int i = 0; i < size; i++) {
+                if (keys[i].equals(key)) {
+                    return values[i];
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void clear() {
+            Arrays.fill(keys, 0, size, null);
+            Arrays.fill(values, 0, size, null);
+            size = 0;
+        }
+
+        @Override
+        public Set<Entry<String, String>> entrySet() {
+            Map<String, String> view = new LinkedHashMap<>(size << 1);
+            for (int i = 0; i < size; i++) {
+                view.put(keys[i], values[i]);
+            }
+            return view.entrySet();
+        }
+    }
+}
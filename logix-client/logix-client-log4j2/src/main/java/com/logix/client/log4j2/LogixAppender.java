@@ -0,0 +1,223 @@
+package com.logix.client.log4j2;
+
+import com.logix.client.core.logging.DispatcherConfig;
+import com.logix.client.core.logging.LogEventDispatcher;
+import com.logix.client.core.logging.LogPayloadSerializer;
+import com.logix.client.core.logging.LogRateLimiter;
+import com.logix.client.core.logging.PendingLog;
+import com.logix.client.core.logging.QueueType;
+import com.logix.client.core.logging.StackTraceDeduplicator;
+import com.logix.client.core.trace.TraceLogPublisher;
+import com.logix.common.config.KafkaSecurityConfig;
+import com.logix.common.constants.LogixConstants;
+import com.logix.common.enums.EnvelopeCompression;
+import com.logix.common.enums.PayloadFormat;
+import com.logix.common.model.TraceLogEvent;
+import com.logix.common.util.NetworkUtils;
+import lombok.Setter;
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.Core;
+import org.apache.logging.log4j.core.Filter;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.appender.AbstractAppender;
+import org.apache.logging.log4j.core.config.Property;
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.config.plugins.PluginBuilderAttribute;
+import org.apache.logging.log4j.core.config.plugins.PluginBuilderFactory;
+import org.apache.logging.log4j.message.Message;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 扩展Log4j2日志输出，发送到Kafka异步处理
+ * <p>
+ * 支持Log4j2无垃圾模式：消息经{@code StringBuilderFormattable}写入池化快照，默认使用环形队列，
+ * 稳态下Appender线程不分配对象。同步Logger、AsyncAppender与异步Logger（AsyncLoggerContext）均可使用。
+ *
+ * @author Kanade
+ * @since 2026/10/18
+ */
+@Plugin(name = "Logix", category = Core.CATEGORY_NAME, elementType = Appender.ELEMENT_TYPE, printObject = true)
+public final class LogixAppender extends AbstractAppender {
+
+    private static final int STACK_CACHE_SIZE = 4096;
+
+    /**
+     * 序列生成器：保证同一毫秒内的日志按顺序显示
+     */
+    private static final AtomicLong SEQ_BUILDER = new AtomicLong();
+
+    private final Builder<?> options;
+
+    private LogEventDispatcher dispatcher;
+    private SnapshotPool snapshotPool;
+    private LogRateLimiter rateLimiter;
+    private StackTraceDeduplicator stackTraceDeduplicator;
+
+    private LogixAppender(String name, Filter filter, boolean ignoreExceptions, Property[] properties,
+                          Builder<?> options) {
+        super(name, filter, null, ignoreExceptions, properties);
+        this.options = options;
+    }
+
+    @PluginBuilderFactory
+    public static <B extends Builder<B>> B newBuilder() {
+        return new Builder<B>().asBuilder();
+    }
+
+    @Override
+    public void start() {
+        DispatcherConfig config = DispatcherConfig.builder()
+                .bootstrapServers(options.bootstrapServers.trim())
+                .queueType(options.queueType)
+                .workerCount(options.workerCount)
+                .payloadFormat(options.format)
+                .acks(options.acks)
+                .envelope(options.envelope)
+                .envelopeCompression(options.compression)
+                .metricsName(options.appName)
+                .partitionTraceById(options.partitionTraceById)
+                .runPartitionKey(options.partitionRunLogs ? options.appName + "@" + NetworkUtils.getLocalIP() : null)
+                .spillDirectory(options.spillDirectory)
+                .spillMaxSize(options.spillMaxSize)
+                .shutdownTimeout(options.shutdownTimeout)
+                .securityConfig(KafkaSecurityConfig.builder()
+                        .username(options.username)
+                        .password(options.password)
+                        .build())
+                .build();
+        this.dispatcher = new LogEventDispatcher(config);
+        TraceLogPublisher.register(options.appName, options.env, dispatcher);
+        this.snapshotPool = new SnapshotPool(config.getQueueCapacity());
+        if (options.stackDedup) {
+            this.stackTraceDeduplicator = new StackTraceDeduplicator(STACK_CACHE_SIZE, options.stackResendInterval);
+        }
+        if (options.rateLimit > 0) {
+            int burst = options.rateBurst > 0 ? options.rateBurst : (int) Math.ceil(options.rateLimit);
+            this.rateLimiter = new LogRateLimiter(options.rateLimit, burst);
+        }
+        super.start();
+    }
+
+    @Override
+    public void append(LogEvent event) {
+        if (LogEventConverter.isTraceMessage(event)) {
+            // 链路上下文为线程私有，异步Logger的后台线程中无法获取
+            if (LogEventConverter.onLoggingThread(event)) {
+                TraceLogEvent traceLogEvent = LogEventConverter.convertTraceLog(options.appName, options.env, event);
+                dispatcher.publishTraceLog(PendingLog.keyed(traceLogEvent.getTraceId(), payloadFormat ->
+                        LogPayloadSerializer.serialize(payloadFormat, traceLogEvent, null)));
+            }
+            return;
+        }
+
+        long repeated = 0;
+        if (rateLimiter != null) {
+            // 在格式化之前限流，被合并的日志不产生任何开销
+            Message message = event.getMessage();
+            repeated = rateLimiter.tryAcquire(event.getLoggerName(), message != null ? message.getFormat() : null);
+            if (repeated == LogRateLimiter.DENIED) {
+                return;
+            }
+        }
+        LogEventSnapshot snapshot = snapshotPool.acquire();
+        snapshot.capture(options.appName, options.env, event, SEQ_BUILDER.getAndIncrement(), repeated,
+                stackTraceDeduplicator);
+        // 投递后快照可能已被分发线程编码并回收，不能再访问
+        dispatcher.publishRunLog(snapshot.getLogLevel(), snapshot);
+    }
+
+    @Override
+    public boolean stop(long timeout, TimeUnit timeUnit) {
+        setStopping();
+        boolean stopped = super.stop(timeout, timeUnit, false);
+        if (dispatcher != null) {
+            TraceLogPublisher.unregister(dispatcher);
+            dispatcher.close();
+        }
+        setStopped();
+        return stopped;
+    }
+
+    /**
+     * Appender配置，对应log4j2.xml中的属性
+     */
+    @Setter
+    public static class Builder<B extends Builder<B>> extends AbstractAppender.Builder<B>
+            implements org.apache.logging.log4j.core.util.Builder<LogixAppender> {
+
+        @PluginBuilderAttribute
+        private String appName;
+
+        @PluginBuilderAttribute
+        private String env;
+
+        @PluginBuilderAttribute
+        private String bootstrapServers;
+
+        @PluginBuilderAttribute
+        private String username;
+
+        @PluginBuilderAttribute(sensitive = true)
+        private String password;
+
+        @PluginBuilderAttribute
+        private QueueType queueType = QueueType.RING;
+
+        @PluginBuilderAttribute
+        private int workerCount = 1;
+
+        @PluginBuilderAttribute
+        private PayloadFormat format = PayloadFormat.JSON;
+
+        @PluginBuilderAttribute
+        private String acks = LogixConstants.Kafka.ACKS;
+
+        @PluginBuilderAttribute
+        private boolean envelope;
+
+        @PluginBuilderAttribute
+        private EnvelopeCompression compression = EnvelopeCompression.NONE;
+
+        @PluginBuilderAttribute
+        private boolean partitionTraceById = true;
+
+        @PluginBuilderAttribute
+        private boolean partitionRunLogs;
+
+        @PluginBuilderAttribute
+        private String spillDirectory;
+
+        @PluginBuilderAttribute
+        private long spillMaxSize = 256L * 1024 * 1024;
+
+        @PluginBuilderAttribute
+        private long shutdownTimeout = 5000;
+
+        @PluginBuilderAttribute
+        private double rateLimit;
+
+        @PluginBuilderAttribute
+        private int rateBurst;
+
+        @PluginBuilderAttribute
+        private boolean stackDedup;
+
+        @PluginBuilderAttribute
+        private long stackResendInterval = 600000;
+
+        @Override
+        public LogixAppender build() {
+            if (appName == null || appName.trim().isEmpty()) {
+                LOGGER.error("[LogixAppender] appName is empty");
+                return null;
+            }
+            if (bootstrapServers == null || bootstrapServers.trim().isEmpty()) {
+                LOGGER.error("[LogixAppender] bootstrapServers is empty");
+                return null;
+            }
+            return new LogixAppender(getName(), getFilter(), isIgnoreExceptions(), getPropertyArray(), this);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.logix.client.log4j2;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 快照对象池
+ * <p>
+ * 快照由Appender线程取出、分发线程归还，因此不能使用线程私有池。这里是预分配的有界多生产者多消费者队列：
+ * 每个槽位带序号，取放各自CAS推进游标，不加锁也不分配节点。池空时新建快照，池满时归还的快照交给GC，
+ * 容量不小于在途日志数量时稳态下不产生垃圾。
+ *
+ * @author Kanade
+ * @since 2026/10/18
+ */
+final class SnapshotPool {
+
+    private final LogEventSnapshot[] entries;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * @param capacity 池容量，取整为2的幂
+     */
+    SnapshotPool(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1) << 1);
+        this.entries = new LogEventSnapshot[size];
+        this.sequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    LogEventSnapshot acquire() {
+        long position = head.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - (position + 1);
+            if (difference == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    LogEventSnapshot snapshot = entries[index];
+                    entries[index] = null;
+                    sequences.lazySet(index, position + mask + 1);
+                    return snapshot;
+                }
+                position = head.get();
+            } else if (difference < 0) {
+                return new LogEventSnapshot(this);
+            } else {
+                position = head.get();
+            }
+        }
+    }
+
+    void release(LogEventSnapshot snapshot) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    entries[index] = snapshot;
+                    sequences.lazySet(index, position + 1);
+                    return;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+}
@@ -1,22 +1,25 @@
 package com.logix.client.logback;
 
 import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.classic.spi.ThrowableProxy;
 import com.logix.common.constants.LogixConstants;
 import com.logix.client.core.trace.TraceContext;
 import com.logix.client.core.trace.TraceMessage;
+import com.logix.client.core.logging.CallerLocator;
 import com.logix.client.core.logging.LogEventBuilder;
+import com.logix.client.core.logging.LogPayloadSerializer;
+import com.logix.client.core.logging.StackTraceDeduplicator;
 import com.logix.common.enums.LogLevel;
+import com.logix.common.enums.PayloadFormat;
 import com.logix.common.model.BaseLogEvent;
-import com.logix.common.model.RunLogEvent;
-import com.logix.common.util.JsonUtils;
+import com.logix.common.model.TraceLogEvent;
 import org.slf4j.helpers.MessageFormatter;
 
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
-import java.util.Map;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
@@ -32,6 +35,15 @@ public class LogEventConverter {
      */
     private static final AtomicLong SEQ_BUILDER = new AtomicLong();
 
+    /**
+     * 以logback Logger为边界定位业务调用方，越过slf4j门面以及jul-to-slf4j、log4j-over-slf4j、jcl-over-slf4j桥接
+     */
+    private static final CallerLocator CALLER_LOCATOR = new CallerLocator(Logger.FQCN,
+            "ch.qos.logback.", "org.slf4j.", "java.util.logging.", "sun.util.logging.",
+            "org.apache.log4j.", "org.apache.commons.logging.");
+
+    private static final String UNKNOWN_METHOD = "unknown";
+
     /**
      * 从MDC中提取TraceID并设置到上下文
      */
@@ -51,69 +63,107 @@ public class LogEventConverter {
      * 转换Logback事件为Logix事件
      */
     public static BaseLogEvent convertLog(final String appName, final String env, final ILoggingEvent iLoggingEvent) {
-        // 从MDC提取TraceID
-        extractTraceIdFromMDC(iLoggingEvent);
-
-        // 获取消息内容
-        String formattedMessage = getMessage(iLoggingEvent);
-
-        // 判断是否为Trace日志
-        if (formattedMessage.startsWith(LogixConstants.Trace.PREFIX)) {
-            TraceMessage traceMessage = TraceContext.currentTraceMessage.get();
-            return LogEventBuilder.createTraceLog(traceMessage, appName, env, iLoggingEvent.getTimeStamp());
+        if (isTraceMessage(iLoggingEvent)) {
+            return convertTraceLog(appName, env, iLoggingEvent);
         }
+        return snapshot(appName, env, iLoggingEvent).toRunLogEvent();
+    }
 
-        // 创建运行时日志
-        RunLogEvent runLogEvent = LogEventBuilder.createRunLog(appName, env, formattedMessage, iLoggingEvent.getTimeStamp());
+    /**
+     * 判断是否为Trace日志，只检查模板，不做格式化
+     */
+    static boolean isTraceMessage(ILoggingEvent iLoggingEvent) {
+        String message = iLoggingEvent.getMessage();
+        return message != null && message.startsWith(LogixConstants.Trace.PREFIX);
+    }
 
-        // 补充Logback特有的元数据
-        runLogEvent.setClassName(iLoggingEvent.getLoggerName());
-        runLogEvent.setThreadName(iLoggingEvent.getThreadName());
-        runLogEvent.setSeq(SEQ_BUILDER.getAndIncrement());
-        runLogEvent.setMethodName(extractMethodName(iLoggingEvent));
-        runLogEvent.setLogLevel(convertLogLevel(iLoggingEvent.getLevel()));
+    /**
+     * 创建链路日志，链路上下文为线程私有，必须在业务线程中调用
+     */
+    static TraceLogEvent convertTraceLog(final String appName, final String env, final ILoggingEvent iLoggingEvent) {
+        extractTraceIdFromMDC(iLoggingEvent);
+        TraceMessage traceMessage = TraceContext.currentTraceMessage.get();
+        return LogEventBuilder.createTraceLog(traceMessage, appName, env, iLoggingEvent.getTimeStamp());
+    }
 
-        return runLogEvent;
+    /**
+     * 在业务线程中采集运行日志快照，格式化留给分发线程
+     */
+    static LogEventSnapshot snapshot(final String appName, final String env, final ILoggingEvent iLoggingEvent) {
+        return snapshot(appName, env, iLoggingEvent, null, true);
     }
 
     /**
-     * 扩展字段
+     * 在业务线程中采集运行日志快照
+     *
+     * @param deduplicator      堆栈去重器，为null时content中包含完整堆栈
+     * @param includeCallerData 是否查找调用方法名
      */
-    public static String extendMessage(BaseLogEvent logEvent, final ILoggingEvent iLoggingEvent) {
-        Map<String, String> mdc = iLoggingEvent.getMDCPropertyMap();
-        Map<String, Object> map = JsonUtils.toMap(logEvent);
-        if (mdc != null) {
-            map.putAll(mdc);
+    static LogEventSnapshot snapshot(final String appName, final String env, final ILoggingEvent iLoggingEvent,
+                                     final StackTraceDeduplicator deduplicator, final boolean includeCallerData) {
+        // 从MDC提取TraceID
+        extractTraceIdFromMDC(iLoggingEvent);
+
+        Object[] args = iLoggingEvent.getArgumentArray();
+        Throwable throwable = null;
+        if (iLoggingEvent.getThrowableProxy() instanceof ThrowableProxy) {
+            throwable = ((ThrowableProxy) iLoggingEvent.getThrowableProxy()).getThrowable();
         }
-        return JsonUtils.toJson(map);
+
+        return new LogEventSnapshot(appName, env, iLoggingEvent.getTimeStamp(),
+                iLoggingEvent.getLevel(), convertLogLevel(iLoggingEvent.getLevel()),
+                iLoggingEvent.getLoggerName(), iLoggingEvent.getThreadName(),
+                iLoggingEvent.getMessage(), args != null ? args.clone() : null, throwable,
+                iLoggingEvent.getMDCPropertyMap(), TraceContext.currentTraceID.get(),
+                extractMethodName(iLoggingEvent, includeCallerData), SEQ_BUILDER.getAndIncrement(), deduplicator);
     }
 
     /**
-     * 获取格式化后的日志消息
+     * 扩展字段：事件字段与MDC一起流式写为JSON，MDC同名字段优先
      */
-    private static String getMessage(ILoggingEvent logEvent) {
-        Level level = logEvent.getLevel();
+    public static byte[] extendMessage(BaseLogEvent logEvent, final ILoggingEvent iLoggingEvent) {
+        return LogPayloadSerializer.serialize(PayloadFormat.JSON, logEvent, iLoggingEvent.getMDCPropertyMap());
+    }
 
+    /**
+     * 获取格式化后的日志消息
+     *
+     * @param args 快照中的参数副本，可被修改
+     */
+    static String formatMessage(Level level, String message, Object[] args, Throwable throwable) {
         // ERROR和WARN级别需要包含堆栈信息
-        if (level.equals(Level.ERROR) || level.equals(Level.WARN)) {
-            if (logEvent.getThrowableProxy() != null) {
-                ThrowableProxy throwableProxy = (ThrowableProxy) logEvent.getThrowableProxy();
-                String stackTrace = errorStackTrace(throwableProxy.getThrowable());
-                return logEvent.getFormattedMessage() + "\n" + stackTrace;
-            } else {
-                Object[] args = logEvent.getArgumentArray();
-                if (args != null) {
-                    for (int i = 0; i < args.length; i++) {
-                        if (args[i] instanceof Throwable) {
-                            args[i] = errorStackTrace(args[i]);
-                        }
+        if (includesStackTrace(level)) {
+            if (throwable != null) {
+                String stackTrace = errorStackTrace(throwable);
+                return formattedMessage(message, args) + "\n" + stackTrace;
+            } else if (args != null) {
+                for (int i = 0; i < args.length; i++) {
+                    if (args[i] instanceof Throwable) {
+                        args[i] = errorStackTrace(args[i]);
                     }
-                    return packageMessage(logEvent.getMessage(), args);
                 }
+                return packageMessage(message, args);
             }
         }
 
-        return logEvent.getFormattedMessage();
+        return formattedMessage(message, args);
+    }
+
+    /**
+     * 只有ERROR和WARN级别输出异常堆栈
+     */
+    static boolean includesStackTrace(Level level) {
+        return level.equals(Level.ERROR) || level.equals(Level.WARN);
+    }
+
+    /**
+     * 与ILoggingEvent.getFormattedMessage一致
+     */
+    static String formattedMessage(String message, Object[] args) {
+        if (args == null) {
+            return message;
+        }
+        return MessageFormatter.arrayFormat(message, args).getMessage();
     }
 
     private static String packageMessage(String message, Object[] args) {
@@ -126,7 +176,7 @@ public class LogEventConverter {
     /**
      * 获取异常堆栈信息
      */
-    private static String errorStackTrace(Object obj) {
+    static String errorStackTrace(Object obj) {
         if (!(obj instanceof Throwable)) {
             return String.valueOf(obj);
         }
@@ -143,13 +193,21 @@ public class LogEventConverter {
 
     /**
      * 提取方法名
+     * 事件已带调用方数据时直接复用，否则按需有界遍历当前线程栈，不调用getCallerData构造完整堆栈；
+     * 在AsyncAppender的工作线程中栈上没有Logger边界，且事件未预先采集调用方数据时为unknown
      */
-    private static String extractMethodName(ILoggingEvent logEvent) {
-        StackTraceElement[] callerData = logEvent.getCallerData();
-        if (callerData != null && callerData.length > 0) {
-            return callerData[0].getMethodName();
+    private static String extractMethodName(ILoggingEvent logEvent, boolean includeCallerData) {
+        if (logEvent.hasCallerData()) {
+            StackTraceElement[] callerData = logEvent.getCallerData();
+            if (callerData != null && callerData.length > 0) {
+                return callerData[0].getMethodName();
+            }
+        }
+        if (!includeCallerData) {
+            return UNKNOWN_METHOD;
         }
-        return "unknown";
+        String methodName = CALLER_LOCATOR.findCallerMethod();
+        return methodName != null ? methodName : UNKNOWN_METHOD;
     }
 
     /**
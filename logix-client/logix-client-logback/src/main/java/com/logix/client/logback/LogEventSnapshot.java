@@ -0,0 +1,106 @@
+package com.logix.client.logback;
+
+import ch.qos.logback.classic.Level;
+import com.logix.client.core.logging.LogEventBuilder;
+import com.logix.client.core.logging.LogPayloadSerializer;
+import com.logix.client.core.logging.PendingLog;
+import com.logix.client.core.logging.StackTraceDeduplicator;
+import com.logix.common.enums.LogLevel;
+import com.logix.common.enums.PayloadFormat;
+import com.logix.common.model.RunLogEvent;
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * 运行日志快照
+ * <p>
+ * 业务线程只采集必须在当前线程读取的数据（线程名、MDC、traceId、调用方法）并保留模板、参数与异常的引用，
+ * 消息格式化、堆栈渲染与序列化推迟到分发线程执行。参数对象在格式化前不应再被修改。
+ *
+ * @author Kanade
+ * @since 2026/10/18
+ */
+final class LogEventSnapshot implements PendingLog {
+
+    private final String appName;
+    private final String env;
+    private final long timestamp;
+    private final Level level;
+    @Getter
+    private final LogLevel logLevel;
+    private final String loggerName;
+    private final String threadName;
+    private final String template;
+    private final Object[] args;
+    private final Throwable throwable;
+    private final Map<String, String> mdc;
+    private final String traceId;
+    private final String methodName;
+    private final long seq;
+    private final StackTraceDeduplicator deduplicator;
+
+    /**
+     * 限流合并的重复条数
+     */
+    private long repeated;
+
+    LogEventSnapshot(String appName, String env, long timestamp, Level level, LogLevel logLevel,
+                     String loggerName, String threadName, String template, Object[] args, Throwable throwable,
+                     Map<String, String> mdc, String traceId, String methodName, long seq,
+                     StackTraceDeduplicator deduplicator) {
+        this.appName = appName;
+        this.env = env;
+        this.timestamp = timestamp;
+        this.level = level;
+        this.logLevel = logLevel;
+        this.loggerName = loggerName;
+        this.threadName = threadName;
+        this.template = template;
+        this.args = args;
+        this.throwable = throwable;
+        this.mdc = mdc;
+        this.traceId = traceId;
+        this.methodName = methodName;
+        this.seq = seq;
+        this.deduplicator = deduplicator;
+    }
+
+    void setRepeated(long repeated) {
+        this.repeated = repeated;
+    }
+
+    @Override
+    public byte[] encode(PayloadFormat format) {
+        return LogPayloadSerializer.serialize(format, toRunLogEvent(), mdc);
+    }
+
+    RunLogEvent toRunLogEvent() {
+        String content;
+        String fingerprint = null;
+        String stackTrace = null;
+        if (deduplicator != null && throwable != null && LogEventConverter.includesStackTrace(level)) {
+            // content只保留异常首行，完整堆栈按指纹去重，仅首次或定期渲染上报
+            long hash = StackTraceDeduplicator.fingerprint(throwable);
+            fingerprint = StackTraceDeduplicator.toHex(hash);
+            content = LogEventConverter.formattedMessage(template, args) + "\n" + throwable;
+            if (deduplicator.shouldSendFull(hash)) {
+                stackTrace = LogEventConverter.errorStackTrace(throwable);
+            }
+        } else {
+            content = LogEventConverter.formatMessage(level, template, args, throwable);
+        }
+        if (repeated > 0) {
+            content = content + " [已合并" + repeated + "条重复日志]";
+        }
+        RunLogEvent runLogEvent = LogEventBuilder.createRunLog(appName, env, content, timestamp, traceId);
+        runLogEvent.setClassName(loggerName);
+        runLogEvent.setThreadName(threadName);
+        runLogEvent.setSeq(seq);
+        runLogEvent.setMethodName(methodName);
+        runLogEvent.setLogLevel(logLevel);
+        runLogEvent.setStackFingerprint(fingerprint);
+        runLogEvent.setStackTrace(stackTrace);
+        return runLogEvent;
+    }
+}
@@ -1,13 +1,22 @@
 package com.logix.client.logback;
 
+import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.core.AppenderBase;
 import com.logix.client.core.logging.DispatcherConfig;
 import com.logix.client.core.logging.LogEventDispatcher;
+import com.logix.client.core.logging.LogPayloadSerializer;
+import com.logix.client.core.logging.LogRateLimiter;
+import com.logix.client.core.logging.PendingLog;
+import com.logix.client.core.logging.QueueType;
+import com.logix.client.core.logging.StackTraceDeduplicator;
+import com.logix.client.core.trace.TraceLogPublisher;
 import com.logix.common.config.KafkaSecurityConfig;
-import com.logix.common.enums.LogType;
-import com.logix.common.model.BaseLogEvent;
-import com.logix.common.util.JsonUtils;
+import com.logix.common.constants.LogixConstants;
+import com.logix.common.enums.EnvelopeCompression;
+import com.logix.common.enums.PayloadFormat;
+import com.logix.common.model.TraceLogEvent;
+import com.logix.common.util.NetworkUtils;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
@@ -20,13 +29,36 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class LogixAppender extends AppenderBase<ILoggingEvent> {
 
+    private static final int STACK_CACHE_SIZE = 4096;
+
     @Setter private String appName;
     @Setter private String env;
     @Setter private String bootstrapServers;
     @Setter private String username;
     @Setter private String password;
+    @Setter private QueueType queueType = QueueType.LINKED;
+    @Setter private int workerCount = 1;
+    @Setter private PayloadFormat format = PayloadFormat.JSON;
+    @Setter private String acks = LogixConstants.Kafka.ACKS;
+    @Setter private boolean envelope;
+    @Setter private EnvelopeCompression compression = EnvelopeCompression.NONE;
+    @Setter private boolean partitionTraceById = true;
+    @Setter private boolean partitionRunLogs;
+    @Setter private String spillDirectory;
+    @Setter private long spillMaxSize = 256L * 1024 * 1024;
+    @Setter private long shutdownTimeout = 5000;
+    @Setter private double rateLimit;
+    @Setter private int rateBurst;
+    @Setter private boolean stackDedup;
+    @Setter private long stackResendInterval = 600000;
+    @Setter private String callerDataLevel = "WARN";
+    @Setter private String callerDataLoggers;
 
     private LogEventDispatcher dispatcher;
+    private LogRateLimiter rateLimiter;
+    private StackTraceDeduplicator stackTraceDeduplicator;
+    private Level callerDataThreshold;
+    private String[] callerDataLoggerPrefixes;
 
     @Override
     public void start() {
@@ -41,12 +73,42 @@ public class LogixAppender extends AppenderBase<ILoggingEvent> {
         }
         DispatcherConfig config = DispatcherConfig.builder()
                 .bootstrapServers(bootstrapServers.trim())
+                .queueType(queueType)
+                .workerCount(workerCount)
+                .payloadFormat(format)
+                .acks(acks)
+                .envelope(envelope)
+                .envelopeCompression(compression)
+                .metricsName(appName)
+                .partitionTraceById(partitionTraceById)
+                .runPartitionKey(partitionRunLogs ? appName + "@" + NetworkUtils.getLocalIP() : null)
+                .spillDirectory(spillDirectory)
+                .spillMaxSize(spillMaxSize)
+                .shutdownTimeout(shutdownTimeout)
                 .securityConfig(KafkaSecurityConfig.builder()
                         .username(username)
                         .password(password)
                         .build())
                 .build();
         this.dispatcher = new LogEventDispatcher(config);
+        TraceLogPublisher.register(appName, env, dispatcher);
+        this.callerDataThreshold = Level.toLevel(callerDataLevel, Level.WARN);
+        this.callerDataLoggerPrefixes = splitLoggers(callerDataLoggers);
+        if (stackDedup) {
+            this.stackTraceDeduplicator = new StackTraceDeduplicator(STACK_CACHE_SIZE, stackResendInterval);
+        }
+        if (rateLimit > 0) {
+            this.rateLimiter = new LogRateLimiter(rateLimit, rateBurst > 0 ? rateBurst : (int) Math.ceil(rateLimit));
+        }
+    }
+
+    @Override
+    public void stop() {
+        super.stop();
+        if (dispatcher != null) {
+            TraceLogPublisher.unregister(dispatcher);
+            dispatcher.close();
+        }
     }
 
     @Override
@@ -54,12 +116,52 @@ public class LogixAppender extends AppenderBase<ILoggingEvent> {
         if (!isStarted()) {
             return;
         }
-        BaseLogEvent logEvent = LogEventConverter.convertLog(appName, env, event);
-        if (logEvent.getLogType() == LogType.RUN) {
-            String message = LogEventConverter.extendMessage(logEvent, event);
-            dispatcher.publishRunLog(message);
-        } else {
-            dispatcher.publishTraceLog(JsonUtils.toJson(logEvent));
+        if (LogEventConverter.isTraceMessage(event)) {
+            TraceLogEvent traceLogEvent = LogEventConverter.convertTraceLog(appName, env, event);
+            dispatcher.publishTraceLog(PendingLog.keyed(traceLogEvent.getTraceId(),
+                    payloadFormat -> LogPayloadSerializer.serialize(payloadFormat, traceLogEvent, null)));
+            return;
+        }
+
+        long repeated = 0;
+        if (rateLimiter != null) {
+            // 在采集快照之前限流，被合并的日志不产生任何开销
+            repeated = rateLimiter.tryAcquire(event.getLoggerName(), event.getMessage());
+            if (repeated == LogRateLimiter.DENIED) {
+                return;
+            }
+        }
+        // 业务线程只采集快照，格式化与序列化在分发线程中完成
+        LogEventSnapshot snapshot = LogEventConverter.snapshot(appName, env, event, stackTraceDeduplicator,
+                includeCallerData(event));
+        snapshot.setRepeated(repeated);
+        dispatcher.publishRunLog(snapshot.getLogLevel(), snapshot);
+    }
+
+    /**
+     * 调用方法名需要遍历线程栈，只对达到级别阈值或指定logger的日志查找
+     */
+    private boolean includeCallerData(ILoggingEvent event) {
+        if (event.getLevel().isGreaterOrEqual(callerDataThreshold)) {
+            return true;
+        }
+        String loggerName = event.getLoggerName();
+        for (String prefix : callerDataLoggerPrefixes) {
+            if (loggerName.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String[] splitLoggers(String loggers) {
+        if (loggers == null || loggers.trim().isEmpty()) {
+            return new String[0];
+        }
+        String[] prefixes = loggers.split(",");
+        for (int i = 0; i < prefixes.length; i++) {
+            prefixes[i] = prefixes[i].trim();
         }
+        return prefixes;
     }
 }
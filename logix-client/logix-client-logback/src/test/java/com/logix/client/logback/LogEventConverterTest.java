@@ -0,0 +1,96 @@
+package com.logix.client.logback;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.AppenderBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 调用方方法名：同步Appender与AsyncAppender工作线程中的定位结果
+ *
+ * @author Kanade
+ * @since 2026/10/18
+ */
+class LogEventConverterTest {
+
+    private final BlockingQueue<String> methodNames = new LinkedBlockingQueue<>();
+
+    private LoggerContext context;
+    private Logger logger;
+
+    @BeforeEach
+    void setUp() {
+        context = new LoggerContext();
+        logger = context.getLogger(LogEventConverterTest.class);
+        logger.setAdditive(false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.stop();
+    }
+
+    @Test
+    void locatesCallerOnLoggingThread() throws InterruptedException {
+        attach(capturing());
+
+        logger.info("order paid");
+
+        assertEquals("locatesCallerOnLoggingThread", methodNames.poll(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void returnsUnknownOnAsyncWorkerThread() throws InterruptedException {
+        attach(async(false));
+
+        logger.info("order paid");
+
+        assertEquals("unknown", methodNames.poll(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void reusesCallerDataCapturedByAsyncAppender() throws InterruptedException {
+        attach(async(true));
+
+        logger.info("order paid");
+
+        assertEquals("reusesCallerDataCapturedByAsyncAppender", methodNames.poll(5, TimeUnit.SECONDS));
+    }
+
+    private void attach(Appender<ILoggingEvent> appender) {
+        logger.addAppender(appender);
+    }
+
+    private Appender<ILoggingEvent> async(boolean includeCallerData) {
+        AsyncAppender async = new AsyncAppender();
+        async.setContext(context);
+        async.setIncludeCallerData(includeCallerData);
+        async.addAppender(capturing());
+        async.start();
+        return async;
+    }
+
+    private Appender<ILoggingEvent> capturing() {
+        AppenderBase<ILoggingEvent> appender = new AppenderBase<ILoggingEvent>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                methodNames.add(LogEventConverter.snapshot("order-service", "test", event)
+                        .toRunLogEvent().getMethodName());
+            }
+        };
+        appender.setContext(context);
+        appender.start();
+        return appender;
+    }
+}
@@ -0,0 +1,60 @@
+package com.logix.common.codec;
+
+/**
+ * 二进制日志格式定义
+ * <pre>
+ * magic(1) | version(1) | logType(1) | field* | 0
+ * field = tag(varint: fieldNo &lt;&lt; 3 | wireType) | value
+ * </pre>
+ * wireType为0时value是zigzag varint，为1时是varint长度前缀的UTF-8字符串。
+ * 解码时跳过未知字段，新增字段无需升级版本号。
+ *
+ * @author Kanade
+ * @since 2026/10/18
+ */
+final class BinaryFormat {
+
+    private BinaryFormat() {
+    }
+
+    static final byte MAGIC = (byte) 0xB1;
+    static final byte VERSION = 1;
+
+    // 日志类型
+    static final byte TYPE_RUN = 1;
+    static final byte TYPE_TRACE = 2;
+
+    // 字段类型
+    static final int WIRE_VARINT = 0;
+    static final int WIRE_STRING = 1;
+
+    static final int END = 0;
+
+    // 公共字段 1-15
+    static final int EVENT_TIME = 1;
+    static final int APP_NAME = 2;
+    static final int ENV = 3;
+    static final int SERVER_IP = 4;
+    static final int METHOD_NAME = 5;
+    static final int TRACE_ID = 6;
+
+    // 运行日志字段 16-31
+    static final int SEQ = 16;
+    static final int LOG_LEVEL = 17;
+    static final int CONTENT = 18;
+    static final int CLASS_NAME = 19;
+    static final int THREAD_NAME = 20;
+    static final int STACK_FINGERPRINT = 21;
+    static final int STACK_TRACE = 22;
+
+    // 链路日志字段 16-31
+    static final int POSITION = 16;
+    static final int DEPTH = 17;
+    static final int DURATION = 18;
+    static final int SPAN_ID = 19;
+    static final int PARENT_SPAN_ID = 20;
+
+    static int tag(int fieldNo, int wireType) {
+        return (fieldNo << 3) | wireType;
+    }
+}
@@ -0,0 +1,206 @@
+package com.logix.common.codec;
+
+import com.github.luben.zstd.Zstd;
+import com.logix.common.enums.EnvelopeCompression;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4SafeDecompressor;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 批量信封编解码
+ * <p>
+ * 把一批已编码的日志事件打包为一条Kafka消息，减少单条消息的头部、校验与消费端逐条处理的开销。
+ * 信封原文：条数(varint) + [长度(varint) + 事件]*；压缩时为 原文长度(varint) + 压缩后的原文。
+ * 事件本身的编码格式由消息头 {@code logix-format} 标识，与信封无关。
+ * <p>
+ * LZ4与ZSTD依赖由kafka-clients在运行时提供，未使用压缩时不会加载。
+ *
+ * @author Kanade
+ * @since 2026/10/18
+ */
+public final class LogEnvelope {
+
+    /**
+     * 解压后原文的最大长度，防止异常数据导致大内存分配
+     */
+    public static final int MAX_RAW_LENGTH = 64 * 1024 * 1024;
+
+    private LogEnvelope() {
+    }
+
+    /**
+     * 信封中单条事件的处理器
+     */
+    @FunctionalInterface
+    public interface EntryHandler {
+
+        /**
+         * @param data   事件所在数组，调用返回后可能被复用，不应持有
+         * @param offset 事件起始位置
+         * @param length 事件长度
+         */
+        void accept(byte[] data, int offset, int length);
+    }
+
+    /**
+     * 打包区间[from, to)内的事件
+     */
+    public static byte[] encode(List<byte[]> payloads, int from, int to, EnvelopeCompression compression) {
+        int rawLength = rawLength(payloads, from, to);
+        if (rawLength > MAX_RAW_LENGTH) {
+            throw new IllegalArgumentException("信封过大: " + rawLength);
+        }
+        byte[] raw = new byte[rawLength];
+        writeRaw(payloads, from, to, raw);
+        if (compression == EnvelopeCompression.NONE) {
+            return raw;
+        }
+        int prefix = varIntSize(rawLength);
+        if (compression == EnvelopeCompression.LZ4) {
+            return Lz4Codec.compress(raw, prefix);
+        }
+        return ZstdCodec.compress(raw, prefix);
+    }
+
+    /**
+     * 解包信封，按顺序回调每条事件
+     *
+     * @return 事件条数
+     * @throws IllegalArgumentException 数据格式错误
+     */
+    public static int decode(byte[] envelope, EnvelopeCompression compression, EntryHandler handler) {
+        try {
+            byte[] raw = envelope;
+            int[] pos = {0};
+            if (compression != EnvelopeCompression.NONE) {
+                int rawLength = readVarInt(envelope, pos);
+                if (rawLength < 0 || rawLength > MAX_RAW_LENGTH) {
+                    throw new IllegalArgumentException("信封长度异常: " + rawLength);
+                }
+                raw = compression == EnvelopeCompression.LZ4
+                        ? Lz4Codec.decompress(envelope, pos[0], rawLength)
+                        : ZstdCodec.decompress(envelope, pos[0], rawLength);
+                pos[0] = 0;
+            }
+
+            int count = readVarInt(raw, pos);
+            for (int i = 0; i < count; i++) {
+                int length = readVarInt(raw, pos);
+                if (length < 0 || length > raw.length - pos[0]) {
+                    throw new IllegalArgumentException("信封数据不完整");
+                }
+                handler.accept(raw, pos[0], length);
+                pos[0] += length;
+            }
+            return count;
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("信封数据不完整", e);
+        }
+    }
+
+    private static int rawLength(List<byte[]> payloads, int from, int to) {
+        long length = varIntSize(to - from);
+        for (int i = from; i < to; i++) {
+            int size = payloads.get(i).length;
+            length += varIntSize(size) + size;
+        }
+        return (int) Math.min(length, Integer.MAX_VALUE);
+    }
+
+    private static void writeRaw(List<byte[]> payloads, int from, int to, byte[] raw) {
+        int pos = writeVarInt(raw, 0, to - from);
+        for (int i = from; i < to; i++) {
+            byte[] payload = payloads.get(i);
+            pos = writeVarInt(raw, pos, payload.length);
+            System.arraycopy(payload, 0, raw, pos, payload.length);
+            pos += payload.length;
+        }
+    }
+
+    private static int varIntSize(int value) {
+        int size = 1;
+        while ((value & ~0x7F) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    private static int writeVarInt(byte[] buf, int pos, int value) {
+        while ((value & ~0x7F) != 0) {
+            buf[pos++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buf[pos++] = (byte) value;
+        return pos;
+    }
+
+    private static int readVarInt(byte[] buf, int[] pos) {
+        int result = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = buf[pos[0]++];
+            result |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return result;
+            }
+        }
+        throw new IllegalArgumentException("varint过长");
+    }
+
+    /**
+     * LZ4实现，首次使用时才加载
+     */
+    private static final class Lz4Codec {
+
+        private static final LZ4Compressor COMPRESSOR = LZ4Factory.fastestInstance().fastCompressor();
+        private static final LZ4SafeDecompressor DECOMPRESSOR = LZ4Factory.fastestInstance().safeDecompressor();
+
+        static byte[] compress(byte[] raw, int prefix) {
+            byte[] out = new byte[prefix + COMPRESSOR.maxCompressedLength(raw.length)];
+            int pos = writeVarInt(out, 0, raw.length);
+            int size = COMPRESSOR.compress(raw, 0, raw.length, out, pos, out.length - pos);
+            return Arrays.copyOf(out, pos + size);
+        }
+
+        static byte[] decompress(byte[] envelope, int offset, int rawLength) {
+            byte[] raw = new byte[rawLength];
+            int size = DECOMPRESSOR.decompress(envelope, offset, envelope.length - offset, raw, 0, rawLength);
+            if (size != rawLength) {
+                throw new IllegalArgumentException("LZ4解压长度不符: " + size);
+            }
+            return raw;
+        }
+    }
+
+    /**
+     * ZSTD实现，首次使用时才加载
+     */
+    private static final class ZstdCodec {
+
+        private static final int LEVEL = 3;
+
+        static byte[] compress(byte[] raw, int prefix) {
+            byte[] out = new byte[prefix + (int) Zstd.compressBound(raw.length)];
+            int pos = writeVarInt(out, 0, raw.length);
+            long size = Zstd.compressByteArray(out, pos, out.length - pos,
+                    raw, 0, raw.length, LEVEL);
+            if (Zstd.isError(size)) {
+                throw new IllegalStateException("ZSTD压缩失败: " + Zstd.getErrorName(size));
+            }
+            return Arrays.copyOf(out, pos + (int) size);
+        }
+
+        static byte[] decompress(byte[] envelope, int offset, int rawLength) {
+            byte[] raw = new byte[rawLength];
+            long size = Zstd.decompressByteArray(raw, 0, rawLength,
+                    envelope, offset, envelope.length - offset);
+            if (Zstd.isError(size) || size != rawLength) {
+                throw new IllegalArgumentException("ZSTD解压失败: " + rawLength);
+            }
+            return raw;
+        }
+    }
+}
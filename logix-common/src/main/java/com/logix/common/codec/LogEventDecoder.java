@@ -0,0 +1,242 @@
+package com.logix.common.codec;
+
+import com.logix.common.enums.LogLevel;
+import com.logix.common.model.BaseLogEvent;
+import com.logix.common.model.RunLogEvent;
+import com.logix.common.model.TraceLogEvent;
+
+import java.nio.charset.StandardCharsets;
+
+import static com.logix.common.codec.BinaryFormat.*;
+
+/**
+ * 日志事件二进制解码器
+ * 应用名、环境、IP、类名、线程名等低基数字段通过字典复用String实例，非线程安全
+ *
+ * @author Kanade
+ * @since 2026/10/18
+ */
+public final class LogEventDecoder {
+
+    private static final LogLevel[] LEVELS_BY_CODE = buildLevelIndex();
+
+    private final StringDictionary dictionary = new StringDictionary();
+
+    private byte[] data;
+    private int pos;
+    private int limit;
+
+    /**
+     * 解码日志事件
+     *
+     * @throws IllegalArgumentException 数据格式错误
+     */
+    public BaseLogEvent decode(byte[] payload) {
+        return decode(payload, 0, payload.length);
+    }
+
+    /**
+     * 解码数组中指定区间的日志事件
+     *
+     * @throws IllegalArgumentException 数据格式错误
+     */
+    public BaseLogEvent decode(byte[] payload, int offset, int length) {
+        this.data = payload;
+        this.pos = offset;
+        this.limit = offset + length;
+        try {
+            if (readByte() != MAGIC) {
+                throw new IllegalArgumentException("非Logix二进制格式");
+            }
+            int version = readByte();
+            if (version < 1) {
+                throw new IllegalArgumentException("不支持的版本: " + version);
+            }
+            byte type = readByte();
+            if (type == TYPE_RUN) {
+                return readRun();
+            }
+            if (type == TYPE_TRACE) {
+                return readTrace();
+            }
+            throw new IllegalArgumentException("未知日志类型: " + type);
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("数据不完整", e);
+        } finally {
+            this.data = null;
+        }
+    }
+
+    private RunLogEvent readRun() {
+        RunLogEvent event = new RunLogEvent();
+        int tag;
+        while ((tag = readVarInt()) != END) {
+            int fieldNo = tag >>> 3;
+            if (readBase(event, fieldNo)) {
+                continue;
+            }
+            switch (fieldNo) {
+                case SEQ:
+                    event.setSeq(readZigZag());
+                    break;
+                case LOG_LEVEL:
+                    event.setLogLevel(levelOf(readZigZag()));
+                    break;
+                case CONTENT:
+                    event.setContent(readString());
+                    break;
+                case CLASS_NAME:
+                    event.setClassName(readInterned());
+                    break;
+                case THREAD_NAME:
+                    event.setThreadName(readInterned());
+                    break;
+                case STACK_FINGERPRINT:
+                    event.setStackFingerprint(readInterned());
+                    break;
+                case STACK_TRACE:
+                    event.setStackTrace(readString());
+                    break;
+                default:
+                    skip(tag & 0x7);
+            }
+        }
+        return event;
+    }
+
+    private TraceLogEvent readTrace() {
+        TraceLogEvent event = new TraceLogEvent();
+        int tag;
+        while ((tag = readVarInt()) != END) {
+            int fieldNo = tag >>> 3;
+            if (readBase(event, fieldNo)) {
+                continue;
+            }
+            switch (fieldNo) {
+                case POSITION:
+                    event.setPosition(readInterned());
+                    break;
+                case DEPTH:
+                    event.setDepth((int) readZigZag());
+                    break;
+                case DURATION:
+                    event.setDuration(readZigZag());
+                    break;
+                case SPAN_ID:
+                    event.setSpanId(readString());
+                    break;
+                case PARENT_SPAN_ID:
+                    event.setParentSpanId(readString());
+                    break;
+                default:
+                    skip(tag & 0x7);
+            }
+        }
+        return event;
+    }
+
+    private boolean readBase(BaseLogEvent event, int fieldNo) {
+        switch (fieldNo) {
+            case EVENT_TIME:
+                event.setEventTime(readZigZag());
+                return true;
+            case APP_NAME:
+                event.setAppName(readInterned());
+                return true;
+            case ENV:
+                event.setEnv(readInterned());
+                return true;
+            case SERVER_IP:
+                event.setServerIp(readInterned());
+                return true;
+            case METHOD_NAME:
+                event.setMethodName(readInterned());
+                return true;
+            case TRACE_ID:
+                event.setTraceId(readString());
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private void skip(int wireType) {
+        if (wireType == WIRE_VARINT) {
+            readVarLong();
+        } else if (wireType == WIRE_STRING) {
+            int length = readLength();
+            pos += length;
+        } else {
+            throw new IllegalArgumentException("未知字段类型: " + wireType);
+        }
+    }
+
+    private String readString() {
+        int length = readLength();
+        String value = new String(data, pos, length, StandardCharsets.UTF_8);
+        pos += length;
+        return value;
+    }
+
+    private String readInterned() {
+        int length = readLength();
+        String value = dictionary.intern(data, pos, length);
+        pos += length;
+        return value;
+    }
+
+    private int readLength() {
+        int length = readVarInt();
+        if (length < 0 || length > limit - pos) {
+            throw new IllegalArgumentException("字段长度越界: " + length);
+        }
+        return length;
+    }
+
+    private byte readByte() {
+        if (pos >= limit) {
+            throw new IllegalArgumentException("数据不完整");
+        }
+        return data[pos++];
+    }
+
+    private long readZigZag() {
+        long v = readVarLong();
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    private int readVarInt() {
+        return (int) readVarLong();
+    }
+
+    private long readVarLong() {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = readByte();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IllegalArgumentException("varint过长");
+    }
+
+    private static LogLevel levelOf(long code) {
+        if (code >= 0 && code < LEVELS_BY_CODE.length && LEVELS_BY_CODE[(int) code] != null) {
+            return LEVELS_BY_CODE[(int) code];
+        }
+        return LogLevel.INFO;
+    }
+
+    private static LogLevel[] buildLevelIndex() {
+        int max = 0;
+        for (LogLevel level : LogLevel.values()) {
+            max = Math.max(max, level.getCode());
+        }
+        LogLevel[] index = new LogLevel[max + 1];
+        for (LogLevel level : LogLevel.values()) {
+            index[level.getCode()] = level;
+        }
+        return index;
+    }
+}
@@ -0,0 +1,217 @@
+package com.logix.common.codec;
+
+import com.logix.common.model.BaseLogEvent;
+import com.logix.common.model.RunLogEvent;
+import com.logix.common.model.TraceLogEvent;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static com.logix.common.codec.BinaryFormat.*;
+
+/**
+ * 日志事件二进制编码器
+ * 内部缓冲区复用，非线程安全，建议每个线程持有一个实例
+ *
+ * @author Kanade
+ * @since 2026/10/18
+ */
+public final class LogEventEncoder {
+
+    private static final int INITIAL_CAPACITY = 512;
+
+    /**
+     * 缓冲区因大事件扩容超过该值后，编码完成即还原为初始大小，避免长期持有的实例一直占用大数组
+     */
+    private static final int MAX_RETAINED_CAPACITY = 16 * 1024;
+
+    private byte[] buf = new byte[INITIAL_CAPACITY];
+    private int pos;
+
+    /**
+     * 应用名、环境、IP在进程内几乎不变，缓存其UTF-8编码结果
+     */
+    private final CachedString appName = new CachedString();
+    private final CachedString env = new CachedString();
+    private final CachedString serverIp = new CachedString();
+
+    /**
+     * 编码日志事件
+     */
+    public byte[] encode(BaseLogEvent event) {
+        pos = 0;
+        try {
+            writeByte(MAGIC);
+            writeByte(VERSION);
+
+            if (event instanceof TraceLogEvent) {
+                writeByte(TYPE_TRACE);
+                writeBase(event);
+                writeTrace((TraceLogEvent) event);
+            } else {
+                writeByte(TYPE_RUN);
+                writeBase(event);
+                writeRun((RunLogEvent) event);
+            }
+
+            writeVarInt(END);
+            return Arrays.copyOf(buf, pos);
+        } finally {
+            if (buf.length > MAX_RETAINED_CAPACITY) {
+                buf = new byte[INITIAL_CAPACITY];
+            }
+        }
+    }
+
+    private void writeBase(BaseLogEvent event) {
+        writeLong(EVENT_TIME, event.getEventTime());
+        writeCached(APP_NAME, appName, event.getAppName());
+        writeCached(ENV, env, event.getEnv());
+        writeCached(SERVER_IP, serverIp, event.getServerIp());
+        writeString(METHOD_NAME, event.getMethodName());
+        writeString(TRACE_ID, event.getTraceId());
+    }
+
+    private void writeRun(RunLogEvent event) {
+        writeLong(SEQ, event.getSeq());
+        if (event.getLogLevel() != null) {
+            writeLong(LOG_LEVEL, (long) event.getLogLevel().getCode());
+        }
+        writeString(CONTENT, event.getContent());
+        writeString(CLASS_NAME, event.getClassName());
+        writeString(THREAD_NAME, event.getThreadName());
+        writeString(STACK_FINGERPRINT, event.getStackFingerprint());
+        writeString(STACK_TRACE, event.getStackTrace());
+    }
+
+    private void writeTrace(TraceLogEvent event) {
+        writeString(POSITION, event.getPosition());
+        if (event.getDepth() != null) {
+            writeLong(DEPTH, (long) event.getDepth());
+        }
+        writeLong(DURATION, event.getDuration());
+        writeString(SPAN_ID, event.getSpanId());
+        writeString(PARENT_SPAN_ID, event.getParentSpanId());
+    }
+
+    private void writeLong(int fieldNo, Long value) {
+        if (value == null) {
+            return;
+        }
+        writeVarInt(tag(fieldNo, WIRE_VARINT));
+        long v = value;
+        writeVarLong((v << 1) ^ (v >> 63));
+    }
+
+    private void writeCached(int fieldNo, CachedString cache, String value) {
+        if (value == null) {
+            return;
+        }
+        byte[] bytes = cache.bytesOf(value);
+        writeVarInt(tag(fieldNo, WIRE_STRING));
+        writeVarInt(bytes.length);
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buf, pos, bytes.length);
+        pos += bytes.length;
+    }
+
+    private void writeString(int fieldNo, String value) {
+        if (value == null) {
+            return;
+        }
+        writeVarInt(tag(fieldNo, WIRE_STRING));
+        int length = value.length();
+        int utf8Length = utf8Length(value);
+        writeVarInt(utf8Length);
+        ensureCapacity(utf8Length);
+
+        if (utf8Length == length) {
+            // 纯ASCII快速路径
+            for (int i = 0; i < length; i++) {
+                buf[pos++] = (byte) value.charAt(i);
+            }
+            return;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                buf[pos++] = (byte) c;
+            } else if (c < 0x800) {
+                buf[pos++] = (byte) (0xC0 | (c >> 6));
+                buf[pos++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, value.charAt(++i));
+                buf[pos++] = (byte) (0xF0 | (cp >> 18));
+                buf[pos++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                buf[pos++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                buf[pos++] = (byte) (0x80 | (cp & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // 孤立代理项，与String.getBytes保持一致替换为'?'
+                buf[pos++] = (byte) '?';
+            } else {
+                buf[pos++] = (byte) (0xE0 | (c >> 12));
+                buf[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buf[pos++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+    }
+
+    private static int utf8Length(String value) {
+        int length = value.length();
+        int bytes = length;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x80) {
+                if (c < 0x800) {
+                    bytes += 1;
+                } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    bytes += 2;
+                    i++;
+                } else if (!Character.isSurrogate(c)) {
+                    bytes += 2;
+                }
+            }
+        }
+        return bytes;
+    }
+
+    private void writeByte(byte value) {
+        ensureCapacity(1);
+        buf[pos++] = value;
+    }
+
+    private void writeVarInt(int value) {
+        writeVarLong(value & 0xFFFFFFFFL);
+    }
+
+    private void writeVarLong(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            buf[pos++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buf[pos++] = (byte) value;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (pos + extra > buf.length) {
+            buf = Arrays.copyOf(buf, Math.max(buf.length << 1, pos + extra));
+        }
+    }
+
+    /**
+     * 单值缓存：值未变化时直接复用编码结果
+     */
+    private static final class CachedString {
+        private String value;
+        private byte[] bytes;
+
+        byte[] bytesOf(String newValue) {
+            if (newValue != value && !newValue.equals(value)) {
+                value = newValue;
+                bytes = newValue.getBytes(StandardCharsets.UTF_8);
+            }
+            return bytes;
+        }
+    }
+}
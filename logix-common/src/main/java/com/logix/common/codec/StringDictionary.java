@@ -0,0 +1,58 @@
+package com.logix.common.codec;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 解码字典：直接映射的定长缓存，按UTF-8字节内容复用String实例
+ * 冲突时直接覆盖，内存有上界，非线程安全
+ *
+ * @author Kanade
+ * @since 2026/10/18
+ */
+final class StringDictionary {
+
+    private static final int SLOTS = 1024;
+    private static final int MAX_INTERN_LENGTH = 256;
+
+    private final byte[][] keys = new byte[SLOTS][];
+    private final String[] values = new String[SLOTS];
+
+    String intern(byte[] data, int offset, int length) {
+        if (length == 0) {
+            return "";
+        }
+        if (length > MAX_INTERN_LENGTH) {
+            return new String(data, offset, length, StandardCharsets.UTF_8);
+        }
+
+        int hash = 1;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            hash = 31 * hash + data[i];
+        }
+        int slot = (hash ^ (hash >>> 16)) & (SLOTS - 1);
+
+        byte[] key = keys[slot];
+        if (key != null && matches(key, data, offset, length)) {
+            return values[slot];
+        }
+
+        byte[] copy = new byte[length];
+        System.arraycopy(data, offset, copy, 0, length);
+        String value = new String(copy, StandardCharsets.UTF_8);
+        keys[slot] = copy;
+        values[slot] = value;
+        return value;
+    }
+
+    private static boolean matches(byte[] key, byte[] data, int offset, int length) {
+        if (key.length != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (key[i] != data[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
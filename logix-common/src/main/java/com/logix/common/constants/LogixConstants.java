@@ -20,6 +20,10 @@ public final class LogixConstants {
         public static final String RUN_TOPIC = "logix-run-logs";
         public static final String TRACE_TOPIC = "logix-trace-logs";
 
+        // 消息头
+        public static final String FORMAT_HEADER = "logix-format";  // 消息体编码格式，见PayloadFormat
+        public static final String ENVELOPE_HEADER = "logix-envelope";  // 批量信封及其压缩算法，见EnvelopeCompression
+
         // 生产者配置
         public static final int BATCH_SIZE = 65536;  // 64KB - 批次大小
         public static final int LINGER_MS = 10;  // 10ms - 等待时间，平衡延迟和吞吐量
@@ -30,11 +34,11 @@ public final class LogixConstants {
         public static final int REQUEST_TIMEOUT_MS = 15000;  // 15秒 - 请求超时
         public static final int RETRIES = 0;  // 不重试，与ACK=0保持一致
 
-        // 连接池配置
-        public static final int POOL_MIN_IDLE = 0;
-        public static final int POOL_MAX_IDLE = 8;
-        public static final int POOL_MAX_TOTAL = 30;
-        public static final long POOL_MAX_WAIT = 1;  // 1秒
+        // 批量信封：单个信封压缩前的最大字节数，需小于max.request.size（默认1MB）
+        public static final int ENVELOPE_MAX_BYTES = 524288;  // 512KB
+
+        // 生产者分片：KafkaProducer线程安全，默认全局共享一个实例
+        public static final int PRODUCER_SHARDS = 1;
 
         private Kafka() {
         }
@@ -46,8 +50,11 @@ public final class LogixConstants {
     public static final class Trace {
         public static final String START = "<";  // 链路开始标志
         public static final String END = ">";  // 链路结束标志
+        public static final String SPAN = "=";  // 完整调用：开始时间+耗时
         public static final String PREFIX = "TRACE:";  // 链路日志前缀
         public static final String ID_KEY = "traceId";  // 链路ID在MDC中的key
+        public static final String SAMPLED_KEY = "traceSampled";  // 强制采样请求头：1采样，0不采样
+        public static final String SPAN_ID_KEY = "spanId";  // 上游调用ID请求头，作为本服务根调用的父ID
 
         private Trace() {
         }
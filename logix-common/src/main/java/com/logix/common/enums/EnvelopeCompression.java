@@ -0,0 +1,57 @@
+package com.logix.common.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 批量信封的压缩算法
+ * 由消息头 {@code logix-envelope} 标识，未携带该消息头的消息为单条日志
+ *
+ * @author Kanade
+ * @since 2026/10/18
+ */
+@Getter
+@AllArgsConstructor
+public enum EnvelopeCompression {
+
+    /**
+     * 不压缩，由Kafka生产者按批压缩
+     */
+    NONE((byte) 0),
+
+    /**
+     * LZ4，速度优先
+     */
+    LZ4((byte) 1),
+
+    /**
+     * ZSTD，压缩率优先
+     */
+    ZSTD((byte) 2);
+
+    private final byte code;
+
+    /**
+     * 消息头取值
+     */
+    public byte[] headerValue() {
+        return new byte[]{code};
+    }
+
+    /**
+     * 根据消息头解析压缩算法，不是信封时返回null
+     *
+     * @throws IllegalArgumentException 无法识别的压缩算法
+     */
+    public static EnvelopeCompression fromHeader(byte[] value) {
+        if (value == null || value.length != 1) {
+            return null;
+        }
+        for (EnvelopeCompression compression : values()) {
+            if (compression.code == value[0]) {
+                return compression;
+            }
+        }
+        throw new IllegalArgumentException("不支持的信封压缩算法: " + value[0]);
+    }
+}
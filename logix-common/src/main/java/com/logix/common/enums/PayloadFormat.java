@@ -0,0 +1,52 @@
+package com.logix.common.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Kafka消息体编码格式
+ * 由消息头 {@code logix-format} 标识，缺省视为JSON，保证旧客户端可以继续上报
+ *
+ * @author Kanade
+ * @since 2026/10/18
+ */
+@Getter
+@AllArgsConstructor
+public enum PayloadFormat {
+
+    /**
+     * JSON文本
+     */
+    JSON((byte) 0),
+
+    /**
+     * 紧凑二进制编码，见 {@link com.logix.common.codec.LogEventEncoder}
+     */
+    BINARY((byte) 1);
+
+    private final byte code;
+
+    /**
+     * 消息头取值
+     */
+    public byte[] headerValue() {
+        return new byte[]{code};
+    }
+
+    /**
+     * 根据消息头解析格式，无法识别时按JSON处理
+     */
+    public static PayloadFormat fromHeader(byte[] value) {
+        if (value != null && value.length == 1) {
+            return fromCode(value[0]);
+        }
+        return JSON;
+    }
+
+    /**
+     * 根据编码解析格式，无法识别时按JSON处理
+     */
+    public static PayloadFormat fromCode(byte code) {
+        return code == BINARY.code ? BINARY : JSON;
+    }
+}
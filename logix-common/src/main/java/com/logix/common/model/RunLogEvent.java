@@ -42,6 +42,16 @@ public class RunLogEvent extends BaseLogEvent {
      */
     private String threadName;
 
+    /**
+     * 异常堆栈指纹，content中不含完整堆栈时由服务端按指纹关联
+     */
+    private String stackFingerprint;
+
+    /**
+     * 完整异常堆栈，仅在客户端首次（或定期）上报该指纹时携带，服务端单独存储
+     */
+    private String stackTrace;
+
 
     @Override
     public LogType getLogType() {
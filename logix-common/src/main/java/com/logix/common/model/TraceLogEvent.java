@@ -15,7 +15,7 @@ import lombok.Setter;
 public class TraceLogEvent extends BaseLogEvent {
 
     /**
-     * 方法调用位置：START/END
+     * 方法调用位置：START/END/SPAN
      */
     private String position;
 
@@ -24,6 +24,21 @@ public class TraceLogEvent extends BaseLogEvent {
      */
     private Integer depth;
 
+    /**
+     * 耗时（毫秒），仅SPAN事件携带，eventTime为方法开始时间
+     */
+    private Long duration;
+
+    /**
+     * 调用ID，仅SPAN事件携带
+     */
+    private String spanId;
+
+    /**
+     * 父调用ID，链路根节点为空
+     */
+    private String parentSpanId;
+
     @Override
     public LogType getLogType() {
         return LogType.TRACE;
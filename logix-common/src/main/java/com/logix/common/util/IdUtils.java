@@ -1,12 +1,17 @@
 package com.logix.common.util;
 
+import java.lang.management.ManagementFactory;
 import java.net.NetworkInterface;
-import java.security.SecureRandom;
 import java.util.Enumeration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * ID生成工具类
  * 基于雪花算法，生成全局唯一的ID
+ * <p>
+ * 时间戳与序列号打包在一个AtomicLong中，生成时一次CAS推进，不加锁也不忙等：
+ * 同一毫秒序列号用尽或时钟回拨时，沿用并推进上次的逻辑时间戳，时钟追上后自然恢复。
  *
  * @author Kanade
  * @since 2025/10/18
@@ -24,7 +29,7 @@ public final class IdUtils {
     /**
      * 机器ID位数
      */
-    private static final long WORKER_ID_BITS = 5L;
+    private static final long WORKER_ID_BITS = 10L;
 
     /**
      * 序列号位数
@@ -52,24 +57,23 @@ public final class IdUtils {
     private static final long TIMESTAMP_SHIFT = SEQUENCE_BITS + WORKER_ID_BITS;
 
     /**
-     * 工作机器ID
+     * 指定机器ID的系统属性，多实例部署时可显式配置避免冲突
      */
-    private static final long WORKER_ID;
+    private static final String WORKER_ID_PROPERTY = "logix.worker.id";
 
     /**
-     * 序列号
+     * 工作机器ID
      */
-    private static long sequence = 0L;
+    private static final long WORKER_ID;
 
     /**
-     * 上次生成ID的时间戳
+     * 上次生成ID的状态：(时间戳 - EPOCH) &lt;&lt; SEQUENCE_BITS | 序列号
      */
-    private static long lastTimestamp = -1L;
+    private static final AtomicLong STATE = new AtomicLong();
 
-    /**
-     * 随机数生成器（用于SpanId）
-     */
-    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+    private static final ThreadLocal<char[]> HEX_BUFFER = ThreadLocal.withInitial(() -> new char[16]);
 
     static {
         WORKER_ID = getWorkerId();
@@ -77,61 +81,64 @@ public final class IdUtils {
 
     /**
      * 生成TraceId
-     * 格式：时间戳(41位) + 机器ID(5位) + 序列号(12位) = 58位，转换为16进制字符串
+     * 格式：时间戳(41位) + 机器ID(10位) + 序列号(12位) = 63位，转换为16进制字符串
      */
     public static String generateTraceId() {
-        return Long.toHexString(nextId()).toUpperCase();
+        long id = nextId();
+        char[] buffer = HEX_BUFFER.get();
+        int length = Math.max(1, (Long.SIZE - Long.numberOfLeadingZeros(id) + 3) >>> 2);
+        writeHex(id, buffer, length);
+        return new String(buffer, 0, length);
     }
 
     /**
      * 生成SpanId
-     * 使用安全随机数生成8位16进制字符串
+     * 64位非零随机数，定长16位16进制字符串；单条链路内十万级SPAN的碰撞概率可忽略
      */
     public static String generateSpanId() {
-        long randomLong = RANDOM.nextLong() & Long.MAX_VALUE; // 确保为正数
-        return Long.toHexString(randomLong).substring(0, 8).toUpperCase();
+        long id;
+        do {
+            id = ThreadLocalRandom.current().nextLong();
+        } while (id == 0);
+        char[] buffer = HEX_BUFFER.get();
+        writeHex(id, buffer, 16);
+        return new String(buffer, 0, 16);
     }
 
     /**
      * 生成下一个ID
      */
-    private static synchronized long nextId() {
-        long timestamp = getCurrentTimestamp();
-
-        // 时钟回拨检测
-        if (timestamp < lastTimestamp) {
-            throw new RuntimeException("时钟回拨，拒绝生成ID");
-        }
-
-        if (lastTimestamp == timestamp) {
-            // 同一毫秒内，序列号自增
-            sequence = (sequence + 1) & SEQUENCE_MASK;
-            if (sequence == 0) {
-                // 序列号溢出，等待下一毫秒
-                timestamp = waitNextMillis(lastTimestamp);
+    private static long nextId() {
+        long now = getCurrentTimestamp() - EPOCH_TIMESTAMP;
+        long current;
+        long next;
+        do {
+            current = STATE.get();
+            long lastTimestamp = current >>> SEQUENCE_BITS;
+            if (now > lastTimestamp) {
+                // 新的毫秒，序列号重置
+                next = now << SEQUENCE_BITS;
+            } else {
+                // 同一毫秒或时钟回拨：在上次的逻辑时间上递增，序列号溢出时进位到下一毫秒
+                next = current + 1;
             }
-        } else {
-            // 不同毫秒，序列号重置
-            sequence = 0L;
-        }
-
-        lastTimestamp = timestamp;
+        } while (!STATE.compareAndSet(current, next));
 
-        // 组装ID
-        return ((timestamp - EPOCH_TIMESTAMP) << TIMESTAMP_SHIFT)
+        long timestamp = next >>> SEQUENCE_BITS;
+        long sequence = next & SEQUENCE_MASK;
+        return (timestamp << TIMESTAMP_SHIFT)
                 | (WORKER_ID << WORKER_ID_SHIFT)
                 | sequence;
     }
 
     /**
-     * 等待下一毫秒
+     * 低位在后写入定长16进制
      */
-    private static long waitNextMillis(long lastTimestamp) {
-        long timestamp = getCurrentTimestamp();
-        while (timestamp <= lastTimestamp) {
-            timestamp = getCurrentTimestamp();
+    private static void writeHex(long value, char[] buffer, int length) {
+        for (int i = length - 1; i >= 0; i--) {
+            buffer[i] = HEX_DIGITS[(int) (value & 0xF)];
+            value >>>= 4;
         }
-        return timestamp;
     }
 
     /**
@@ -143,34 +150,50 @@ public final class IdUtils {
 
     /**
      * 获取机器ID
+     * 优先使用系统属性；否则由全部网卡MAC地址与进程标识（pid@host）混合哈希，同一主机上的多个进程也能区分
      */
     private static long getWorkerId() {
+        String configured = System.getProperty(WORKER_ID_PROPERTY);
+        if (configured != null) {
+            try {
+                return Long.parseLong(configured.trim()) & MAX_WORKER_ID;
+            } catch (NumberFormatException ignored) {
+                // 配置无效时按自动方式生成
+            }
+        }
+
+        long hash = 0x9E3779B97F4A7C15L;
         try {
-            StringBuilder sb = new StringBuilder();
             Enumeration<NetworkInterface> networks = NetworkInterface.getNetworkInterfaces();
-
-            while (networks.hasMoreElements()) {
-                NetworkInterface network = networks.nextElement();
-                byte[] mac = network.getHardwareAddress();
+            while (networks != null && networks.hasMoreElements()) {
+                byte[] mac = networks.nextElement().getHardwareAddress();
                 if (mac != null) {
                     for (byte b : mac) {
-                        sb.append(String.format("%02X", b));
+                        hash = mix(hash ^ (b & 0xFF));
                     }
-                    break;
                 }
             }
-
-            if (sb.length() == 0) {
-                // 没有找到MAC地址，使用随机数
-                return new SecureRandom().nextInt((int) MAX_WORKER_ID);
-            }
-
-            // 使用MAC地址的hash值作为机器ID
-            return Math.abs(sb.toString().hashCode()) % (MAX_WORKER_ID + 1);
+        } catch (Exception ignored) {
+            // 无法读取网卡时只依赖进程标识与随机数
+        }
+        try {
+            hash = mix(hash ^ ManagementFactory.getRuntimeMXBean().getName().hashCode());
         } catch (Exception e) {
-            // 异常情况下使用随机数
-            return new SecureRandom().nextInt((int) MAX_WORKER_ID);
+            hash = mix(hash ^ ThreadLocalRandom.current().nextLong());
         }
+        return hash & MAX_WORKER_ID;
+    }
+
+    /**
+     * 64位哈希混合（MurmurHash3 fmix64）
+     */
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB93FE53A6B63L;
+        h ^= h >>> 33;
+        return h;
     }
 
     /**
@@ -184,4 +207,4 @@ public final class IdUtils {
             return -1L;
         }
     }
-}
\ No newline at end of file
+}
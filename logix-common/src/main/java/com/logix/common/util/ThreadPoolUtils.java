@@ -3,6 +3,7 @@ package com.logix.common.util;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * 线程池工具类
@@ -17,14 +18,16 @@ public class ThreadPoolUtils {
     }
 
     /**
-     * 创建默认线程池
-     * 核心线程数10，最大线程数10，队列容量1
+     * 创建守护线程工厂
+     * 线程名为 前缀-序号
      */
-    public static ThreadPoolExecutor createDefaultExecutor() {
-        return new ThreadPoolExecutor(
-                10, 10, 10, TimeUnit.SECONDS,
-                new ArrayBlockingQueue<>(1),
-                new ThreadPoolExecutor.DiscardOldestPolicy());
+    public static ThreadFactory createDaemonThreadFactory(String namePrefix) {
+        AtomicInteger index = new AtomicInteger();
+        return r -> {
+            Thread thread = new Thread(r, namePrefix + "-" + index.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
     }
 
     /**
@@ -22,7 +22,7 @@ public final class LogBatchConsumer implements AutoCloseable {
 
     private volatile boolean running = true;
 
-    private final KafkaConsumer<String, String> consumer;
+    private final KafkaConsumer<String, byte[]> consumer;
     private final List<String> topics;
     private final String groupId;
     private final LogMessageRouter router;
@@ -50,7 +50,7 @@ public final class LogBatchConsumer implements AutoCloseable {
         try {
             while (running) {
                 try {
-                    ConsumerRecords<String, String> records = consumer.poll(Duration.ofSeconds(1));
+                    ConsumerRecords<String, byte[]> records = consumer.poll(Duration.ofSeconds(1));
 
                     if (!records.isEmpty()) {
                         // 路由到不同的队列
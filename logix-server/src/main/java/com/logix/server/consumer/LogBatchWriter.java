@@ -24,14 +24,14 @@ public class LogBatchWriter<T extends BaseLogEvent> implements Runnable {
     private final BlockingQueue<T> queue;
     private final ClickHouseWriter<T> writer;
     private final int batchSize;
-    private final int batchTimeoutMs;
+    private final long batchTimeoutMs;
 
     public LogBatchWriter(
             String logType,
             BlockingQueue<T> queue,
             ClickHouseWriter<T> writer,
             int batchSize,
-            int batchTimeoutMs) {
+            long batchTimeoutMs) {
         this.logType = logType;
         this.queue = queue;
         this.writer = writer;
@@ -1,18 +1,27 @@
 package com.logix.server.consumer;
 
 import com.fasterxml.jackson.databind.ObjectReader;
+import com.logix.common.codec.LogEnvelope;
+import com.logix.common.codec.LogEventDecoder;
 import com.logix.common.constants.LogixConstants;
+import com.logix.common.enums.EnvelopeCompression;
+import com.logix.common.enums.PayloadFormat;
+import com.logix.common.model.BaseLogEvent;
 import com.logix.common.model.RunLogEvent;
 import com.logix.common.model.TraceLogEvent;
 import com.logix.common.util.JsonUtils;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.header.Header;
 
+import java.nio.charset.StandardCharsets;
 import java.util.concurrent.BlockingQueue;
 
 /**
  * 根据topic将消息路由到对应队列
+ * 按消息头中的编码格式选择JSON或二进制解码，未携带消息头的旧客户端按JSON处理；
+ * 携带信封头的消息先整体解包（必要时解压），再按同一编码格式逐条解码
  *
  * @author Kanade
  * @since 2025/11/20
@@ -23,6 +32,11 @@ public class LogMessageRouter {
     private final ObjectReader runReader = JsonUtils.getObjectMapper().readerFor(RunLogEvent.class);
     private final ObjectReader traceReader = JsonUtils.getObjectMapper().readerFor(TraceLogEvent.class);
 
+    /**
+     * 仅由消费线程使用
+     */
+    private final LogEventDecoder decoder = new LogEventDecoder();
+
     private final BlockingQueue<RunLogEvent> runQueue;
     private final BlockingQueue<TraceLogEvent> traceQueue;
 
@@ -33,25 +47,52 @@ public class LogMessageRouter {
         this.traceQueue = traceQueue;
     }
 
-    public void route(ConsumerRecords<String, String> records) {
+    public void route(ConsumerRecords<String, byte[]> records) {
 
-        for (ConsumerRecord<String, String> record : records) {
+        for (ConsumerRecord<String, byte[]> record : records) {
             String topic = record.topic();
-            String payload = record.value();
+            byte[] payload = record.value();
+            if (payload == null) {
+                continue;
+            }
+            PayloadFormat format = formatOf(record);
+            boolean run = LogixConstants.Kafka.RUN_TOPIC.equals(topic);
 
-            if (LogixConstants.Kafka.RUN_TOPIC.equals(topic)) {
-                routeToRunQueue(payload);
+            Header envelope = record.headers().lastHeader(LogixConstants.Kafka.ENVELOPE_HEADER);
+            if (envelope != null) {
+                routeEnvelope(payload, envelope.value(), format, run);
+            } else if (run) {
+                routeToRunQueue(payload, 0, payload.length, format);
             } else {
-                routeToTraceQueue(payload);
+                routeToTraceQueue(payload, 0, payload.length, format);
             }
         }
 
     }
 
-    private void routeToRunQueue(String payload) {
-        RunLogEvent event = parse(payload, runReader);
+    private void routeEnvelope(byte[] payload, byte[] compressionHeader, PayloadFormat format, boolean run) {
+        try {
+            EnvelopeCompression compression = EnvelopeCompression.fromHeader(compressionHeader);
+            if (compression == null) {
+                log.warn("[Envelope] 信封头无效，丢弃消息");
+                return;
+            }
+            if (run) {
+                LogEnvelope.decode(payload, compression, (data, offset, length) ->
+                        routeToRunQueue(data, offset, length, format));
+            } else {
+                LogEnvelope.decode(payload, compression, (data, offset, length) ->
+                        routeToTraceQueue(data, offset, length, format));
+            }
+        } catch (Exception e) {
+            log.warn("[Envelope] 解包失败({} bytes): {}", payload.length, e.getMessage());
+        }
+    }
+
+    private void routeToRunQueue(byte[] payload, int offset, int length, PayloadFormat format) {
+        RunLogEvent event = parse(payload, offset, length, format, runReader, RunLogEvent.class);
         if (event == null) {
-            log.warn("[RunLog] 解析失败: {}", payload);
+            log.warn("[RunLog] 解析失败: {}", describe(payload, offset, length, format));
             return;
         }
         boolean offered = runQueue.offer(event);
@@ -61,10 +102,10 @@ public class LogMessageRouter {
         }
     }
 
-    private void routeToTraceQueue(String payload) {
-        TraceLogEvent event = parse(payload, traceReader);
+    private void routeToTraceQueue(byte[] payload, int offset, int length, PayloadFormat format) {
+        TraceLogEvent event = parse(payload, offset, length, format, traceReader, TraceLogEvent.class);
         if (event == null) {
-            log.warn("[TraceLog] 解析失败: {}", payload);
+            log.warn("[TraceLog] 解析失败: {}", describe(payload, offset, length, format));
             return;
         }
         boolean offered = traceQueue.offer(event);
@@ -74,11 +115,28 @@ public class LogMessageRouter {
         }
     }
 
-    private <T> T parse(String payload, ObjectReader reader) {
+    private PayloadFormat formatOf(ConsumerRecord<String, byte[]> record) {
+        Header header = record.headers().lastHeader(LogixConstants.Kafka.FORMAT_HEADER);
+        return PayloadFormat.fromHeader(header != null ? header.value() : null);
+    }
+
+    private <T extends BaseLogEvent> T parse(byte[] payload, int offset, int length, PayloadFormat format,
+                                             ObjectReader reader, Class<T> type) {
         try {
-            return reader.readValue(payload);
+            if (format == PayloadFormat.BINARY) {
+                BaseLogEvent event = decoder.decode(payload, offset, length);
+                return type.isInstance(event) ? type.cast(event) : null;
+            }
+            return reader.readValue(payload, offset, length);
         } catch (Exception e) {
             return null;
         }
     }
+
+    private String describe(byte[] payload, int offset, int length, PayloadFormat format) {
+        if (format == PayloadFormat.BINARY) {
+            return "binary(" + length + " bytes)";
+        }
+        return new String(payload, offset, length, StandardCharsets.UTF_8);
+    }
 }
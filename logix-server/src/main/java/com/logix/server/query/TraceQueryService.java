@@ -35,13 +35,68 @@ public class TraceQueryService {
     }
 
     private List<TraceNode> buildTraceTree(List<TraceRow> rows) {
+        List<TraceRow> legacyRows = new ArrayList<>();
+        List<TraceNode> roots = joinSpans(rows, legacyRows);
+        if (!legacyRows.isEmpty()) {
+            roots.addAll(buildLegacyTree(legacyRows));
+            roots.sort(Comparator.comparing(TraceNode::getStartTime, Comparator.nullsLast(Long::compareTo)));
+        }
+        return roots;
+    }
+
+    /**
+     * 带调用ID的行按父调用ID哈希关联，一次遍历建树。
+     * 行已按开始时间排序，子节点按顺序追加即有序，无需递归排序；父节点缺失（如被采样丢弃）的调用作为根节点。
+     *
+     * @param legacyRows 收集不带调用ID的旧格式行
+     */
+    private List<TraceNode> joinSpans(List<TraceRow> rows, List<TraceRow> legacyRows) {
+        Map<String, TraceNode> nodes = new HashMap<>(Math.max(16, rows.size() * 4 / 3 + 1));
+        List<TraceRow> spanRows = new ArrayList<>(rows.size());
+        List<TraceNode> spanNodes = new ArrayList<>(rows.size());
+        Deque<TraceNode> noParent = new ArrayDeque<>();
+        for (TraceRow row : rows) {
+            if (!StringUtils.hasText(row.spanId)) {
+                legacyRows.add(row);
+                continue;
+            }
+            TraceNode node = createNode(row, noParent);
+            long duration = row.duration != null ? row.duration : 0L;
+            node.setEndTime(row.dt != null ? row.dt + duration : null);
+            node.setDuration(duration);
+            nodes.put(row.spanId, node);
+            spanRows.add(row);
+            spanNodes.add(node);
+        }
+
+        List<TraceNode> roots = new ArrayList<>();
+        for (int i = 0; i < spanNodes.size(); i++) {
+            TraceNode node = spanNodes.get(i);
+            String parentSpanId = spanRows.get(i).parentSpanId;
+            TraceNode parent = StringUtils.hasText(parentSpanId) ? nodes.get(parentSpanId) : null;
+            if (parent != null && parent != node) {
+                parent.getChildren().add(node);
+            } else {
+                roots.add(node);
+            }
+        }
+        return roots;
+    }
+
+    /**
+     * 旧格式：按开始/结束行在栈上回放，按签名或深度匹配
+     */
+    private List<TraceNode> buildLegacyTree(List<TraceRow> rows) {
         List<TraceNode> roots = new ArrayList<>();
         Deque<TraceNode> stack = new ArrayDeque<>();
 
         for (TraceRow row : rows) {
             boolean isStart = "<".equals(row.position) || "1".equals(row.position);
+            boolean isSpan = "=".equals(row.position) || "3".equals(row.position);
 
-            if (isStart) {
+            if (isSpan) {
+                addSpanNode(row, stack, roots);
+            } else if (isStart) {
                 TraceNode node = createNode(row, stack);
                 if (stack.isEmpty()) {
                     roots.add(node);
@@ -70,6 +125,37 @@ public class TraceQueryService {
         return node;
     }
 
+    /**
+     * 完整调用行自带耗时，按开始时间有序到达：弹出已不可能包含它的已结束节点，栈顶即父节点
+     */
+    private void addSpanNode(TraceRow row, Deque<TraceNode> stack, List<TraceNode> roots) {
+        TraceNode node = createNode(row, stack);
+        long duration = row.duration != null ? row.duration : 0L;
+        node.setEndTime(row.dt != null ? row.dt + duration : null);
+        node.setDuration(duration);
+
+        while (!stack.isEmpty() && stack.peek().getEndTime() != null && !encloses(stack.peek(), node)) {
+            stack.pop();
+        }
+        if (stack.isEmpty()) {
+            roots.add(node);
+        } else {
+            stack.peek().getChildren().add(node);
+        }
+        stack.push(node);
+    }
+
+    /**
+     * 同一应用内按嵌套深度判断，跨应用时按时间区间判断
+     */
+    private boolean encloses(TraceNode parent, TraceNode child) {
+        if (Objects.equals(parent.getAppName(), child.getAppName())
+                && Objects.equals(parent.getServerIp(), child.getServerIp())) {
+            return parent.getDepth() < child.getDepth();
+        }
+        return child.getStartTime() != null && parent.getEndTime() >= child.getStartTime();
+    }
+
     private void closeNode(Deque<TraceNode> stack, String signature, Integer depth, Long endTime) {
         while (!stack.isEmpty()) {
             TraceNode candidate = stack.pop();
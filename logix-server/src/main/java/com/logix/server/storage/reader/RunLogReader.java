@@ -14,7 +14,11 @@ import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * 运行日志查询
@@ -28,15 +32,19 @@ public class RunLogReader {
 
     private static final String[] LEVEL_NAMES = {"", "TRACE", "DEBUG", "INFO", "WARN", "ERROR"};
 
+    private static final int FINGERPRINT_COLUMN = 11;
+
     private final ClickHouseClient client;
     private final ClickHouseNodes nodes;
     private final String tableName;
+    private final String stackTableName;
 
     public RunLogReader(ClickHouseClient client, ClickHouseNodes nodes,
                         @Value("${logix.clickhouse.db-name}") String database) {
         this.client = client;
         this.nodes = nodes;
         this.tableName = database + ".run_logs";
+        this.stackTableName = database + ".stack_traces";
         log.info("[RunLogReader] 初始化完成 | 查询表: {}", tableName);
     }
 
@@ -62,6 +70,7 @@ public class RunLogReader {
         long start = System.nanoTime();
         try {
             List<LogRecord> results = new ArrayList<>();
+            List<String> fingerprints = new ArrayList<>();
             ClickHouseNode node = nodes.apply(nodes.getNodeSelector());
             try (ClickHouseResponse response = client.read(node)
                     .query(sql)
@@ -69,8 +78,10 @@ public class RunLogReader {
                     .executeAndWait()) {
                 for (ClickHouseRecord record : response.records()) {
                     results.add(mapToLogRecord(record));
+                    fingerprints.add(record.getValue(FINGERPRINT_COLUMN).asString());
                 }
             }
+            attachStackTraces(results, fingerprints);
             return results;
         } catch (Exception e) {
             log.error("[RunLogReader] 查询失败", e);
@@ -132,7 +143,7 @@ public class RunLogReader {
     private String buildSelectSql(LogFilterCriteria criteria, int offset, int limit, boolean isRealtime) {
         StringBuilder sql = new StringBuilder();
         sql.append("SELECT seq, log_level, event_time, app_name, env, server_ip, ");
-        sql.append("method_name, content, class_name, thread_name, trace_id ");
+        sql.append("method_name, content, class_name, thread_name, trace_id, stack_fingerprint ");
         sql.append("FROM ").append(tableName);
         sql.append(buildWhereClause(criteria, isRealtime));
 
@@ -151,6 +162,66 @@ public class RunLogReader {
         return sql.toString();
     }
 
+    /**
+     * 去重后的日志只保存异常首行，按本页出现的指纹查询堆栈并拼回完整内容（去掉堆栈中重复的首行）
+     * <p>
+     * 只查询本页的指纹，按stack_traces的排序键(app_name, fingerprint)定位，开销与页大小相关而与堆栈表大小无关。
+     * 同一指纹取最近一次上报的堆栈；查询失败时只显示异常首行。
+     */
+    private void attachStackTraces(List<LogRecord> records, List<String> fingerprints) {
+        Set<String> keys = new LinkedHashSet<>();
+        StringBuilder tuples = new StringBuilder();
+        for (int i = 0; i < records.size(); i++) {
+            String fingerprint = fingerprints.get(i);
+            String appName = records.get(i).getAppName();
+            if (StringUtils.hasText(fingerprint) && keys.add(stackKey(appName, fingerprint))) {
+                if (tuples.length() > 0) {
+                    tuples.append(", ");
+                }
+                tuples.append("('").append(escape(appName)).append("', '").append(escape(fingerprint)).append("')");
+            }
+        }
+        if (keys.isEmpty()) {
+            return;
+        }
+
+        String sql = "SELECT app_name, fingerprint, argMax(stack_trace, update_time) FROM " + stackTableName
+                + " WHERE (app_name, fingerprint) IN (" + tuples + ") GROUP BY app_name, fingerprint";
+        Map<String, String> stacks = new HashMap<>();
+        try {
+            ClickHouseNode node = nodes.apply(nodes.getNodeSelector());
+            try (ClickHouseResponse response = client.read(node)
+                    .query(sql)
+                    .format(ClickHouseFormat.RowBinaryWithNamesAndTypes)
+                    .executeAndWait()) {
+                for (ClickHouseRecord record : response.records()) {
+                    stacks.put(stackKey(record.getValue(0).asString(), record.getValue(1).asString()),
+                            record.getValue(2).asString());
+                }
+            }
+        } catch (Exception e) {
+            log.warn("[RunLogReader] 查询异常堆栈失败: {}", e.getMessage());
+            return;
+        }
+
+        for (int i = 0; i < records.size(); i++) {
+            String fingerprint = fingerprints.get(i);
+            if (!StringUtils.hasText(fingerprint)) {
+                continue;
+            }
+            LogRecord record = records.get(i);
+            String stack = stacks.get(stackKey(record.getAppName(), fingerprint));
+            if (StringUtils.hasText(stack)) {
+                int firstLineEnd = stack.indexOf('\n');
+                record.setContent(record.getContent() + "\n" + stack.substring(firstLineEnd + 1));
+            }
+        }
+    }
+
+    private static String stackKey(String appName, String fingerprint) {
+        return appName + '\u0000' + fingerprint;
+    }
+
     private String buildWhereClause(LogFilterCriteria c) {
         return buildWhereClause(c, false);
     }
@@ -65,7 +65,7 @@ public class TraceLogReader {
     private String buildSql(TraceQueryRequest request) {
         StringBuilder sql = new StringBuilder();
         sql.append("SELECT trace_id, method_name, toUnixTimestamp64Milli(event_time) as dt, ");
-        sql.append("app_name, server_ip, position, depth FROM ").append(tableName);
+        sql.append("app_name, server_ip, position, depth, duration, span_id, parent_span_id FROM ").append(tableName);
         sql.append(" WHERE trace_id = '").append(escape(request.getTraceId())).append("'");
 
         if (StringUtils.hasText(request.getAppName())) {
@@ -77,7 +77,7 @@ public class TraceLogReader {
         if (request.getEndTime() != null) {
             sql.append(" AND event_time <= fromUnixTimestamp64Milli(").append(request.getEndTime()).append(")");
         }
-        sql.append(" ORDER BY event_time ASC");
+        sql.append(" ORDER BY event_time ASC, depth ASC");
         return sql.toString();
     }
 
@@ -94,11 +94,27 @@ public class TraceLogReader {
         row.serverIp = r.getValue(4).asString();
         // position 是 Enum8，getValue 返回的是整数
         int posVal = r.getValue(5).asInteger();
-        row.position = posVal == 1 ? "<" : (posVal == 2 ? ">" : String.valueOf(posVal));
+        row.position = mapPosition(posVal);
         row.depth = r.getValue(6).asInteger();
+        row.duration = r.getValue(7).asLong();
+        row.spanId = r.getValue(8).asString();
+        row.parentSpanId = r.getValue(9).asString();
         return row;
     }
 
+    private static String mapPosition(int posVal) {
+        switch (posVal) {
+            case 1:
+                return "<";
+            case 2:
+                return ">";
+            case 3:
+                return "=";
+            default:
+                return String.valueOf(posVal);
+        }
+    }
+
     /**
      * 链路查询原始行数据
      */
@@ -110,5 +126,8 @@ public class TraceLogReader {
         public String serverIp;
         public String position;
         public Integer depth;
+        public Long duration;
+        public String spanId;
+        public String parentSpanId;
     }
 }
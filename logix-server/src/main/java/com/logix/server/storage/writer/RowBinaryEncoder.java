@@ -24,6 +24,11 @@ public final class RowBinaryEncoder {
         out.writeLong(Long.reverseBytes(v));
     }
 
+    public void writeUInt32(Long value) throws IOException {
+        long v = value != null ? value : 0L;
+        out.writeInt(Integer.reverseBytes((int) Math.min(Math.max(v, 0L), 0xFFFFFFFFL)));
+    }
+
     public void writeUInt16(Integer value) throws IOException {
         int v = value != null ? value : 0;
         out.writeShort(Short.reverseBytes((short) v));
@@ -30,18 +30,25 @@ public class RunLogWriter implements ClickHouseWriter<RunLogEvent> {
     private final ClickHouseClient client;
     private final ClickHouseNodes nodes;
     private final String insertSql;
+    private final String stackInsertSql;
 
     public RunLogWriter(ClickHouseClient client, ClickHouseNodes nodes,
                         @Value("${logix.clickhouse.db-name}") String database) {
         this.client = client;
         this.nodes = nodes;
         this.insertSql = buildInsertSql(database + ".run_logs");
+        this.stackInsertSql = buildStackInsertSql(database + ".stack_traces");
         log.info("[RunLogWriter] 初始化完成 | 目标表: {}.run_logs", database);
     }
 
     private static String buildInsertSql(String tableName) {
         return "INSERT INTO " + tableName + " (event_time, app_name, env, server_ip, seq, " +
-                "log_level, content, class_name, method_name, thread_name, trace_id) " +
+                "log_level, content, stack_fingerprint, class_name, method_name, thread_name, trace_id) " +
+                "SETTINGS async_insert=1, wait_for_async_insert=0 FORMAT RowBinary";
+    }
+
+    private static String buildStackInsertSql(String tableName) {
+        return "INSERT INTO " + tableName + " (app_name, fingerprint, stack_trace) " +
                 "SETTINGS async_insert=1, wait_for_async_insert=0 FORMAT RowBinary";
     }
 
@@ -53,8 +60,13 @@ public class RunLogWriter implements ClickHouseWriter<RunLogEvent> {
 
         long start = System.nanoTime();
         try {
+            // 先写堆栈侧表，查询时日志总能关联到堆栈
+            byte[] stacks = serializeStackTraces(events);
+            if (stacks != null) {
+                executeInsert(stackInsertSql, stacks);
+            }
             byte[] payload = serialize(events);
-            executeInsert(payload);
+            executeInsert(insertSql, payload);
             log.info("[RunLogWriter] 批量写入成功 | size:{} | cost:{}ms",
                     events.size(), (System.nanoTime() - start) / 1_000_000);
         } catch (Exception e) {
@@ -74,6 +86,7 @@ public class RunLogWriter implements ClickHouseWriter<RunLogEvent> {
                 encoder.writeUInt64(event.getSeq());
                 encoder.writeEnum8(mapLogLevel(event.getLogLevel()));
                 encoder.writeString(event.getContent());
+                encoder.writeString(event.getStackFingerprint());
                 encoder.writeString(event.getClassName());
                 encoder.writeString(event.getMethodName());
                 encoder.writeString(event.getThreadName());
@@ -84,7 +97,34 @@ public class RunLogWriter implements ClickHouseWriter<RunLogEvent> {
         }
     }
 
-    private void executeInsert(byte[] payload) throws Exception {
+    /**
+     * 序列化携带完整堆栈的日志，没有时返回null
+     */
+    private byte[] serializeStackTraces(List<RunLogEvent> events) throws IOException {
+        ByteArrayOutputStream baos = null;
+        DataOutputStream out = null;
+        RowBinaryEncoder encoder = null;
+        for (RunLogEvent event : events) {
+            if (event.getStackFingerprint() == null || event.getStackTrace() == null) {
+                continue;
+            }
+            if (encoder == null) {
+                baos = new ByteArrayOutputStream(4096);
+                out = new DataOutputStream(baos);
+                encoder = new RowBinaryEncoder(out);
+            }
+            encoder.writeString(event.getAppName());
+            encoder.writeString(event.getStackFingerprint());
+            encoder.writeString(event.getStackTrace());
+        }
+        if (encoder == null) {
+            return null;
+        }
+        out.flush();
+        return baos.toByteArray();
+    }
+
+    private void executeInsert(String insertSql, byte[] payload) throws Exception {
         ClickHouseNode node = nodes.apply(nodes.getNodeSelector());
         try (ClickHouseResponse ignored = client.read(node)
                 .write()
@@ -39,7 +39,7 @@ public class TraceLogWriter implements ClickHouseWriter<TraceLogEvent> {
 
     private static String buildInsertSql(String tableName) {
         return "INSERT INTO " + tableName + " (event_time, app_name, env, server_ip, " +
-                "trace_id, method_name, position, depth) " +
+                "trace_id, method_name, position, depth, duration, span_id, parent_span_id) " +
                 "SETTINGS async_insert=1, wait_for_async_insert=0 FORMAT RowBinary";
     }
 
@@ -73,6 +73,9 @@ public class TraceLogWriter implements ClickHouseWriter<TraceLogEvent> {
                 encoder.writeString(event.getMethodName());
                 encoder.writeEnum8(mapPosition(event.getPosition()));
                 encoder.writeUInt16(event.getDepth());
+                encoder.writeUInt32(event.getDuration());
+                encoder.writeString(event.getSpanId());
+                encoder.writeString(event.getParentSpanId());
             }
             out.flush();
             return baos.toByteArray();
@@ -94,6 +97,7 @@ public class TraceLogWriter implements ClickHouseWriter<TraceLogEvent> {
     private int mapPosition(String position) {
         if ("<".equals(position)) return 1;  // START
         if (">".equals(position)) return 2;  // END
+        if ("=".equals(position)) return 3;  // SPAN
         return 0;
     }
 }
@@ -13,6 +13,7 @@ CREATE TABLE IF NOT EXISTS run_logs
     seq          UInt64 COMMENT '序列号',
     log_level    Enum8('TRACE' = 1, 'DEBUG' = 2, 'INFO' = 3, 'WARN' = 4, 'ERROR' = 5) COMMENT '日志级别',
     content      String COMMENT '日志内容',
+    stack_fingerprint String DEFAULT '' COMMENT '异常堆栈指纹，关联stack_traces',
     class_name   String COMMENT '类名',
     method_name  String COMMENT '方法名',
     thread_name  String COMMENT '线程名',
@@ -25,6 +26,22 @@ CREATE TABLE IF NOT EXISTS run_logs
     TTL insert_time + INTERVAL 180 DAY
     SETTINGS index_granularity = 8192;
 
+-- 旧版本表结构升级
+ALTER TABLE run_logs ADD COLUMN IF NOT EXISTS stack_fingerprint String DEFAULT '' COMMENT '异常堆栈指纹，关联stack_traces' AFTER content;
+
+-- 异常堆栈表：客户端开启堆栈去重后，相同堆栈只存一份，查询时按指纹关联
+CREATE TABLE IF NOT EXISTS stack_traces
+(
+    app_name     String COMMENT '应用名称',
+    fingerprint  String COMMENT '堆栈指纹',
+    stack_trace  String COMMENT '完整堆栈',
+    update_time  DateTime DEFAULT now() COMMENT '最近上报时间'
+)
+ENGINE = ReplacingMergeTree(update_time)
+ORDER BY (app_name, fingerprint)
+TTL update_time + INTERVAL 180 DAY
+SETTINGS index_granularity = 8192;
+
 -- 追踪日志表
 CREATE TABLE IF NOT EXISTS trace_logs
 (
@@ -34,8 +51,11 @@ CREATE TABLE IF NOT EXISTS trace_logs
     server_ip    String COMMENT '服务器IP',
     trace_id     String COMMENT '链路ID',
     method_name  String COMMENT '方法签名',
-    position     Enum8('<' = 1, '>' = 2) COMMENT '链路位置',
+    position     Enum8('<' = 1, '>' = 2, '=' = 3) COMMENT '链路位置，=为完整调用',
     depth        UInt16 COMMENT '调用深度',
+    duration     UInt32 DEFAULT 0 COMMENT '耗时（毫秒），仅完整调用',
+    span_id      String DEFAULT '' COMMENT '调用ID',
+    parent_span_id String DEFAULT '' COMMENT '父调用ID，根调用为空',
     insert_time  DateTime DEFAULT now() COMMENT '插入时间'
 )
 ENGINE = MergeTree
@@ -43,3 +63,9 @@ PARTITION BY toYYYYMM(event_time)
 ORDER BY (trace_id, event_time, position)
 TTL insert_time + INTERVAL 180 DAY
 SETTINGS index_granularity = 8192;
+
+-- 旧版本表结构升级
+ALTER TABLE trace_logs MODIFY COLUMN position Enum8('<' = 1, '>' = 2, '=' = 3) COMMENT '链路位置，=为完整调用';
+ALTER TABLE trace_logs ADD COLUMN IF NOT EXISTS duration UInt32 DEFAULT 0 COMMENT '耗时（毫秒），仅完整调用' AFTER depth;
+ALTER TABLE trace_logs ADD COLUMN IF NOT EXISTS span_id String DEFAULT '' COMMENT '调用ID' AFTER duration;
+ALTER TABLE trace_logs ADD COLUMN IF NOT EXISTS parent_span_id String DEFAULT '' COMMENT '父调用ID，根调用为空' AFTER span_id;